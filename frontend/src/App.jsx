@@ -33,7 +33,7 @@ function App() {
       setStats({
         total: personnelData.length,
         active: personnelData.filter(p => p.status === 'ACTIVE').length,
-        logs: logsData.length
+        logs: logsData.items.length
       })
       setError(null)
     } catch (err) {
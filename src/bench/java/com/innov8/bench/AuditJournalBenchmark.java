@@ -0,0 +1,119 @@
+package com.innov8.bench;
+
+import com.innov8.Innov8ObservabilityLabApplication;
+import com.innov8.config.AuditPipelineProperties.FsyncPolicy;
+import com.innov8.model.AuditLog;
+import com.innov8.repository.AuditLogRepository;
+import com.innov8.service.AuditJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Request-thread cost of making one audit event durable, from several threads at once:
+ * <ul>
+ *     <li>{@code db-commit}: one insert and commit per event, the synchronous path the journal replaces, against a
+ *     file-backed H2 database so the commit reaches storage;</li>
+ *     <li>{@code EVERY_EVENT}, {@code INTERVAL}, {@code OS}: one {@link AuditJournal} append under each fsync policy.
+ *     Nothing applies the journal during a trial; segments are released between iterations.</li>
+ * </ul>
+ * <p>
+ * {@code mvn -Pbench compile exec:exec@jmh -Djmh.args="AuditJournalBenchmark"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditJournalBenchmark {
+
+    @Param({"db-commit", "EVERY_EVENT", "INTERVAL", "OS"})
+    private String sink;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private AuditLogRepository auditLogRepository;
+    private TransactionTemplate transactionTemplate;
+    private AuditJournal journal;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("innov8-journal-bench");
+        if (sink.equals("db-commit")) {
+            context = new SpringApplicationBuilder(Innov8ObservabilityLabApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.main.banner-mode=off",
+                            "--logging.level.com.innov8=WARN",
+                            "--spring.datasource.url=jdbc:h2:file:" + directory.resolve("db").toAbsolutePath(),
+                            "--innov8.audit.pipeline.journal.enabled=false");
+            auditLogRepository = context.getBean(AuditLogRepository.class);
+            transactionTemplate = context.getBean(TransactionTemplate.class);
+            auditLogRepository.preparePartitions(List.of(BenchFixtures.auditLog(1)));
+        } else {
+            journal = new AuditJournal(directory.resolve("journal"), 64L << 20, FsyncPolicy.valueOf(sink),
+                    Duration.ofMillis(100), 0);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void releaseSegments() throws IOException {
+        if (journal != null) {
+            journal.markApplied(journal.publishedPosition());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+        if (context != null) {
+            context.close();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long persist() throws IOException {
+        AuditLog auditLog = BenchFixtures.auditLog(ids.incrementAndGet());
+        if (journal != null) {
+            return journal.append(auditLog);
+        }
+        // Ids come from the sequence, like a live event's
+        auditLog.setId(null);
+        transactionTemplate.executeWithoutResult(status -> auditLogRepository.saveAll(List.of(auditLog)));
+        return 0;
+    }
+
+}
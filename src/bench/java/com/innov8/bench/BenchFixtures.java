@@ -0,0 +1,68 @@
+package com.innov8.bench;
+
+import com.innov8.model.AuditLog;
+import com.innov8.model.Personnel;
+import com.innov8.model.PersonnelStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic in-memory entities for benchmarks that do not need a database.
+ */
+final class BenchFixtures {
+
+    private static final LocalDateTime ANCHOR = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private BenchFixtures() {
+    }
+
+    static Personnel personnel(long id) {
+        return Personnel.builder()
+                .id(id)
+                .name("Person " + id)
+                .email("person." + id + "@innov8.lk")
+                .role("Security Analyst")
+                .department("SOC")
+                .status(PersonnelStatus.ACTIVE)
+                .createdAt(ANCHOR.minusDays(id % 365))
+                .updatedAt(ANCHOR.minusHours(id % 24))
+                .version(id % 7)
+                .build();
+    }
+
+    static AuditLog auditLog(long id) {
+        return AuditLog.builder()
+                .id(id)
+                .action("READ")
+                .entityType("Personnel")
+                .entityId(id % 1000)
+                .username("person." + (id % 100) + "@innov8.lk")
+                .ipAddress("10.0." + (id >> 8 & 0xFF) + "." + (id & 0xFF))
+                .details("GET /personnel/{id}")
+                .responseStatus(200)
+                .executionTime(12L)
+                .executionTimeNanos(12_345_678L)
+                .timestamp(ANCHOR.minusSeconds(id))
+                .userAgent("Mozilla/5.0 (X11; Linux x86_64; rv:131.0) Gecko/20100101 Firefox/131.0")
+                .build();
+    }
+
+    static List<AuditLog> auditLogList(int count) {
+        List<AuditLog> logs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            logs.add(auditLog(i + 1));
+        }
+        return logs;
+    }
+
+    static List<Personnel> personnelList(int count) {
+        List<Personnel> personnel = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            personnel.add(personnel(i + 1));
+        }
+        return personnel;
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.innov8.bench;
+
+import com.innov8.logging.CorrelationIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Correlation id throughput: UUID.randomUUID(), which every thread funnels through one SecureRandom, against
+ * CorrelationIds.next(), which only touches thread-local state.
+ * <p>
+ * Runs as part of the JMH suite at one thread. {@link #main} reruns both at 1, 2, 4, ... up to the available
+ * processors and prints aggregate throughput and scaling relative to one thread; linear scaling means the
+ * generator adds no shared contention to preHandle:
+ * <p>
+ * {@code mvn -Pbench compile exec:exec -Dexec.executable=java
+ * -Dexec.args="-classpath %classpath com.innov8.bench.CorrelationIdBenchmark"}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CorrelationIdBenchmark {
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String correlationId() {
+        return CorrelationIds.next();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int processors = Runtime.getRuntime().availableProcessors();
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < processors; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(processors);
+
+        double[][] scores = new double[threadCounts.size()][2];
+        for (int i = 0; i < threadCounts.size(); i++) {
+            Options options = new OptionsBuilder()
+                    .include(CorrelationIdBenchmark.class.getName() + "\\.(randomUuid|correlationId)$")
+                    .threads(threadCounts.get(i))
+                    .build();
+            Collection<RunResult> results = new Runner(options).run();
+            for (RunResult result : results) {
+                String method = result.getParams().getBenchmark();
+                scores[i][method.endsWith("randomUuid") ? 0 : 1] = result.getPrimaryResult().getScore();
+            }
+        }
+
+        System.out.printf("%n%8s | %22s %8s | %22s %8s%n", "threads",
+                "UUID.randomUUID ops/us", "scaling", "CorrelationIds ops/us", "scaling");
+        for (int i = 0; i < threadCounts.size(); i++) {
+            System.out.printf("%8d | %22.2f %7.2fx | %22.2f %7.2fx%n", threadCounts.get(i),
+                    scores[i][0], scores[i][0] / scores[0][0],
+                    scores[i][1], scores[i][1] / scores[0][1]);
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.innov8.bench;
+
+import com.innov8.dto.AuditLogDTO;
+import com.innov8.dto.PersonnelDTO;
+import com.innov8.model.AuditLog;
+import com.innov8.model.Personnel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the entity-to-DTO mapping done for every row a controller returns, per row and per 1000-row page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private Personnel personnel;
+    private AuditLog auditLog;
+    private List<AuditLog> auditPage;
+
+    @Setup
+    public void setUp() {
+        personnel = BenchFixtures.personnel(42L);
+        auditLog = BenchFixtures.auditLog(42L);
+        auditPage = BenchFixtures.auditLogList(1000);
+    }
+
+    @Benchmark
+    public PersonnelDTO personnelFrom() {
+        return PersonnelDTO.from(personnel);
+    }
+
+    @Benchmark
+    public AuditLogDTO auditLogFrom() {
+        return AuditLogDTO.from(auditLog);
+    }
+
+    @Benchmark
+    public List<AuditLogDTO> auditLogPageOf1000() {
+        return auditPage.stream().map(AuditLogDTO::from).toList();
+    }
+
+}
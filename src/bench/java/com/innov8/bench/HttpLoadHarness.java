@@ -0,0 +1,362 @@
+package com.innov8.bench;
+
+import com.innov8.Innov8ObservabilityLabApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * End-to-end latency of the real HTTP endpoints, driven from inside the same JVM with no external tools.
+ * <p>
+ * The application is booted on a random port (optionally seeded by the synthetic generator) and a single
+ * dispatcher issues requests at a constant aggregate rate, choosing each endpoint from a weighted mix. Requests
+ * are sent asynchronously, so a slow response never delays the next send (open model). Response time is
+ * measured from each request's intended send time, which corrects for coordinated omission; service time is
+ * measured from the actual send and shows what a closed-loop tool would have reported.
+ * <p>
+ * {@code mvn -Pbench compile exec:java -Dexec.mainClass=com.innov8.bench.HttpLoadHarness
+ * -Dexec.args="--rate=200 --seconds=60 --chaos=false --mix=personnel-by-id:6,personnel-list:1,audit-by-user:2,audit-range:1"}
+ * <p>
+ * Options: {@code --rate} requests/s, {@code --seconds}, {@code --warmup-seconds}, {@code --mix} endpoint:weight
+ * pairs, {@code --chaos=false} to disable fault injection, {@code --cache=false}, {@code --personnel} and
+ * {@code --audit-events} for the synthetic dataset (0 personnel skips it), {@code --seed}, and {@code --hgrm-dir}
+ * to write each endpoint's percentile distribution for plotting.
+ * <p>
+ * {@code --concurrency=N} switches to a closed loop instead: N workers each send their next request as soon as
+ * the previous one completes, which measures saturated throughput rather than latency at a given rate. Both
+ * modes report bytes allocated per request, summed over every thread in the JVM; the harness's own client
+ * allocations are included, so compare the figure between runs rather than reading it as the server's cost.
+ */
+public class HttpLoadHarness {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    public static void main(String[] args) throws Exception {
+        BenchArgs options = BenchArgs.parse(args);
+        int rate = options.getInt("rate", 200);
+        int concurrency = options.getInt("concurrency", 0);
+        int seconds = options.getInt("seconds", 60);
+        int warmupSeconds = options.getInt("warmup-seconds", 15);
+        boolean chaos = options.getBoolean("chaos", true);
+        boolean cache = options.getBoolean("cache", true);
+        long personnel = options.getLong("personnel", 10_000);
+        long auditEvents = options.getLong("audit-events", 200_000);
+        long seed = options.getLong("seed", 42);
+        String mix = options.get("mix", "personnel-by-id:6,personnel-list:1,audit-by-user:2,audit-by-action:1,audit-range:1");
+        String hgrmDir = options.get("hgrm-dir", null);
+
+        LocalDateTime anchor = LocalDate.now().atStartOfDay();
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.innov8=WARN",
+                "--innov8.chaos.enabled=" + chaos,
+                "--innov8.cache.enabled=" + cache));
+        if (personnel > 0) {
+            appArgs.addAll(List.of(
+                    "--innov8.seed.synthetic.enabled=true",
+                    "--innov8.seed.synthetic.personnel=" + personnel,
+                    "--innov8.seed.synthetic.audit-events=" + auditEvents,
+                    "--innov8.seed.synthetic.seed=" + seed,
+                    "--innov8.seed.synthetic.anchor-time=" + anchor));
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Innov8ObservabilityLabApplication.class)
+                .run(appArgs.toArray(String[]::new))) {
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            String baseUrl = "http://localhost:" + port + context.getEnvironment().getProperty("server.servlet.context-path", "");
+            List<Endpoint> endpoints = endpoints(mix, context.getBean(JdbcTemplate.class), anchor);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            System.out.printf("Target %s, %s, chaos=%s, cache=%s, mix=%s%n", baseUrl,
+                    concurrency > 0 ? concurrency + " closed-loop workers" : rate + " req/s", chaos, cache, mix);
+            System.out.printf("Warming up for %ds...%n", warmupSeconds);
+            if (concurrency > 0) {
+                runClosed(client, baseUrl, endpoints, concurrency, warmupSeconds, seed);
+            } else {
+                run(client, baseUrl, endpoints, rate, warmupSeconds, seed);
+            }
+
+            endpoints.forEach(Endpoint::reset);
+            System.out.printf("Measuring for %ds...%n", seconds);
+            long allocatedBefore = allocatedBytes();
+            long dispatchLag = concurrency > 0
+                    ? runClosed(client, baseUrl, endpoints, concurrency, seconds, seed + 1)
+                    : run(client, baseUrl, endpoints, rate, seconds, seed + 1);
+            long allocated = allocatedBytes() - allocatedBefore;
+
+            report(System.out, endpoints, seconds, dispatchLag);
+            long requests = endpoints.stream().mapToLong(endpoint -> endpoint.responseTimes.getTotalCount()).sum();
+            System.out.printf("Allocated %.1f MB in total, %.1f KB per request (all threads)%n",
+                    allocated / 1e6, requests == 0 ? 0 : allocated / 1e3 / requests);
+            if (hgrmDir != null) {
+                writeDistributions(Path.of(hgrmDir), endpoints);
+            }
+        }
+        // Tomcat and the HTTP client leave non-daemon threads behind
+        System.exit(0);
+    }
+
+    /**
+     * Dispatches requests at fixed intervals until the duration elapses, then waits for stragglers.
+     *
+     * @return the worst lag of the dispatcher behind its own schedule, in nanoseconds
+     */
+    private static long run(HttpClient client, String baseUrl, List<Endpoint> endpoints,
+                            int rate, int seconds, long seed) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        double totalWeight = endpoints.stream().mapToDouble(Endpoint::weight).sum();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long total = (long) rate * seconds;
+        AtomicLong outstanding = new AtomicLong();
+        long maxLag = 0;
+
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            RequestAuditLatencyBenchmark.waitUntil(intended);
+
+            Endpoint endpoint = pick(endpoints, totalWeight, random);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path().apply(random)))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("X-User-ID", "load-harness")
+                    .GET()
+                    .build();
+
+            long sent = System.nanoTime();
+            maxLag = Math.max(maxLag, sent - intended);
+            outstanding.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        endpoint.record(intended, sent, System.nanoTime(),
+                                error == null && response.statusCode() < 400);
+                        outstanding.decrementAndGet();
+                    });
+        }
+
+        long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return maxLag;
+    }
+
+    /**
+     * Closed loop: each worker sends its next request when the previous one completes. Response and service
+     * time are the same thing here, since nothing is ever queued behind a schedule.
+     *
+     * @return always 0; there is no dispatch schedule to lag behind
+     */
+    private static long runClosed(HttpClient client, String baseUrl, List<Endpoint> endpoints,
+                                  int concurrency, int seconds, long seed) throws InterruptedException {
+        double totalWeight = endpoints.stream().mapToDouble(Endpoint::weight).sum();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            SplittableRandom random = new SplittableRandom(seed + w);
+            workers.add(Thread.ofPlatform().name("load-" + w).start(() -> {
+                while (System.nanoTime() < deadline) {
+                    Endpoint endpoint = pick(endpoints, totalWeight, random);
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path().apply(random)))
+                            .timeout(REQUEST_TIMEOUT)
+                            .header("X-User-ID", "load-harness")
+                            .GET()
+                            .build();
+                    long sent = System.nanoTime();
+                    boolean success;
+                    try {
+                        success = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                    } catch (IOException e) {
+                        success = false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    endpoint.record(sent, sent, System.nanoTime(), success);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return 0;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+
+    private static Endpoint pick(List<Endpoint> endpoints, double totalWeight, SplittableRandom random) {
+        double roll = random.nextDouble() * totalWeight;
+        for (Endpoint endpoint : endpoints) {
+            roll -= endpoint.weight();
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    /**
+     * Builds the requested mix. Ids and usernames are sampled from whatever the database holds, so requests hit
+     * real rows whether or not the synthetic dataset was generated.
+     */
+    private static List<Endpoint> endpoints(String mix, JdbcTemplate jdbcTemplate, LocalDateTime anchor) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM personnel", Long.class);
+        List<String> users = jdbcTemplate.queryForList(
+                "SELECT username FROM audit_rollup_hourly GROUP BY username ORDER BY SUM(event_count) DESC LIMIT 500", String.class);
+        if (users.isEmpty()) {
+            users = List.of("load-harness");
+        }
+        List<String> usernames = users;
+
+        Map<String, Function<SplittableRandom, String>> catalog = new LinkedHashMap<>();
+        catalog.put("personnel-list", random -> "/personnel");
+        catalog.put("personnel-by-id", random -> "/personnel/" + ids.get(random.nextInt(ids.size())));
+        catalog.put("audit-recent", random -> "/audit-logs?limit=100");
+        catalog.put("audit-by-user", random -> "/audit-logs/user/"
+                + encode(usernames.get(random.nextInt(usernames.size()))) + "?limit=100");
+        catalog.put("audit-by-action", random -> "/audit-logs/action/"
+                + (random.nextInt(10) < 7 ? "READ" : "UPDATE") + "?limit=100");
+        catalog.put("audit-by-entity", random -> "/audit-logs/entity/Personnel/"
+                + ids.get(random.nextInt(ids.size())) + "?limit=100");
+        catalog.put("audit-range", random -> {
+            LocalDateTime end = anchor.minusMinutes(random.nextInt(24 * 60));
+            return "/audit-logs/range?startTime=" + end.minusHours(1) + "&endTime=" + end + "&limit=100";
+        });
+
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Function<SplittableRandom, String> path = catalog.get(parts[0]);
+            if (path == null) {
+                throw new IllegalArgumentException("Unknown endpoint '" + parts[0] + "', expected one of " + catalog.keySet());
+            }
+            endpoints.add(new Endpoint(parts[0], parts.length > 1 ? Double.parseDouble(parts[1]) : 1, path));
+        }
+        return endpoints;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void report(PrintStream out, List<Endpoint> endpoints, int seconds, long dispatchLagNanos) {
+        Histogram allResponse = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        Histogram allService = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long allErrors = 0;
+
+        out.println();
+        out.printf("%-16s %8s %7s %8s | %9s %9s %9s %9s | %9s %9s%n", "endpoint", "count", "errors", "req/s",
+                "p50 ms", "p99 ms", "p99.9 ms", "max ms", "svc p50", "svc p99");
+        for (Endpoint endpoint : endpoints) {
+            row(out, endpoint.name(), endpoint.responseTimes, endpoint.serviceTimes, endpoint.errors.sum(), seconds);
+            allResponse.add(endpoint.responseTimes);
+            allService.add(endpoint.serviceTimes);
+            allErrors += endpoint.errors.sum();
+        }
+        row(out, "all", allResponse, allService, allErrors, seconds);
+        out.printf("%nResponse times are measured from the intended send time (coordinated-omission corrected);%n"
+                + "svc columns from the actual send. Worst dispatcher lag: %.2f ms%n", dispatchLagNanos / 1e6);
+    }
+
+    private static void row(PrintStream out, String name, Histogram response, Histogram service, long errors, int seconds) {
+        out.printf("%-16s %8d %7d %8.1f | %9.2f %9.2f %9.2f %9.2f | %9.2f %9.2f%n",
+                name,
+                response.getTotalCount(),
+                errors,
+                response.getTotalCount() / (double) seconds,
+                response.getValueAtPercentile(50) / 1e6,
+                response.getValueAtPercentile(99) / 1e6,
+                response.getValueAtPercentile(99.9) / 1e6,
+                response.getMaxValue() / 1e6,
+                service.getValueAtPercentile(50) / 1e6,
+                service.getValueAtPercentile(99) / 1e6);
+    }
+
+    private static void writeDistributions(Path directory, List<Endpoint> endpoints) throws IOException {
+        Files.createDirectories(directory);
+        for (Endpoint endpoint : endpoints) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(endpoint.name() + ".hgrm")))) {
+                endpoint.responseTimes.outputPercentileDistribution(out, 1e6);
+            }
+        }
+        System.out.printf("Percentile distributions written to %s%n", directory.toAbsolutePath());
+    }
+
+    private static final class Endpoint {
+
+        private final String name;
+        private final double weight;
+        private final Function<SplittableRandom, String> path;
+        private final Histogram responseTimes = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final Histogram serviceTimes = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        private Endpoint(String name, double weight, Function<SplittableRandom, String> path) {
+            this.name = name;
+            this.weight = weight;
+            this.path = path;
+        }
+
+        String name() {
+            return name;
+        }
+
+        double weight() {
+            return weight;
+        }
+
+        Function<SplittableRandom, String> path() {
+            return path;
+        }
+
+        void record(long intendedNanos, long sentNanos, long completedNanos, boolean success) {
+            responseTimes.recordValue(Math.min(completedNanos - intendedNanos, HIGHEST_TRACKABLE_NANOS));
+            serviceTimes.recordValue(Math.min(completedNanos - sentNanos, HIGHEST_TRACKABLE_NANOS));
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            responseTimes.reset();
+            serviceTimes.reset();
+            errors.reset();
+        }
+    }
+
+}
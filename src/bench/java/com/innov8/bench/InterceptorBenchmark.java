@@ -0,0 +1,84 @@
+package com.innov8.bench;
+
+import com.innov8.interceptor.RequestCorrelationInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of RequestCorrelationInterceptor outside of auditing: correlation id generation, MDC
+ * population and the response header. Auditing is disabled here; RequestAuditLatencyBenchmark covers it.
+ * <p>
+ * Requests are reused across invocations, so their attributes are cleared before each call to keep preHandle on
+ * its first-dispatch path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class InterceptorBenchmark {
+
+    private RequestCorrelationInterceptor interceptor;
+    private HandlerMethod handler;
+    private MockHttpServletRequest request;
+    private MockHttpServletRequest requestWithCorrelationId;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        interceptor = new RequestCorrelationInterceptor(null, false);
+        handler = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+        request = request();
+        requestWithCorrelationId = request();
+        requestWithCorrelationId.addHeader("X-Correlation-ID", "7f3c2a9e-5b1d-4e8f-9a6c-0d2b4f6e8a1c");
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearMdc() {
+        MDC.clear();
+    }
+
+    @Benchmark
+    public boolean preHandleGeneratedId() throws Exception {
+        request.clearAttributes();
+        return interceptor.preHandle(request, response, handler);
+    }
+
+    @Benchmark
+    public boolean preHandlePropagatedId() throws Exception {
+        requestWithCorrelationId.clearAttributes();
+        return interceptor.preHandle(requestWithCorrelationId, response, handler);
+    }
+
+    @Benchmark
+    public void preHandleAndAfterCompletion() throws Exception {
+        request.clearAttributes();
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/personnel/42");
+        request.addHeader("X-User-ID", "bench-user");
+        return request;
+    }
+
+}
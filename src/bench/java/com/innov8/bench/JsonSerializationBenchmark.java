@@ -0,0 +1,75 @@
+package com.innov8.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.innov8.dto.AuditLogDTO;
+import com.innov8.dto.PersonnelDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of large DTO lists, configured the way Spring Boot configures the MVC ObjectMapper.
+ * {@code toBytes} is what a buffered response pays; {@code toStream} writes to a discarding stream and isolates
+ * the encoder from the cost of growing a byte array.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private ObjectWriter auditLogWriter;
+    private ObjectWriter personnelWriter;
+    private List<AuditLogDTO> auditLogs;
+    private List<PersonnelDTO> personnel;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        auditLogWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, AuditLogDTO.class));
+        personnelWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, PersonnelDTO.class));
+        auditLogs = BenchFixtures.auditLogList(size).stream().map(AuditLogDTO::from).toList();
+        personnel = BenchFixtures.personnelList(size).stream().map(PersonnelDTO::from).toList();
+    }
+
+    @Benchmark
+    public byte[] auditLogsToBytes() throws IOException {
+        return auditLogWriter.writeValueAsBytes(auditLogs);
+    }
+
+    @Benchmark
+    public void auditLogsToStream() throws IOException {
+        auditLogWriter.writeValue(OutputStream.nullOutputStream(), auditLogs);
+    }
+
+    @Benchmark
+    public byte[] personnelToBytes() throws IOException {
+        return personnelWriter.writeValueAsBytes(personnel);
+    }
+
+}
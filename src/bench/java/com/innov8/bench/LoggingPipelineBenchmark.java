@@ -0,0 +1,206 @@
+package com.innov8.bench;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import com.innov8.logging.CorrelationIds;
+import com.innov8.logging.DroppedLogEvents;
+import com.innov8.logging.EndpointLogSampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.logback.LogbackLoggingSystem;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Logging cost per request: the MDC a request carries plus the INFO line GET /personnel/{id} emits from
+ * PersonnelService, from several threads at once, through
+ * <ul>
+ *     <li>{@code off}: logging disabled, the baseline the other pipelines are measured against;</li>
+ *     <li>{@code legacy}: the previous configuration, kept verbatim below: console and a 512-slot blocking
+ *     AsyncAppender on both root and com.innov8, so each event is written twice;</li>
+ *     <li>{@code ring-buffer}: logback-spring.xml as shipped, loaded through Spring Boot's logging system;</li>
+ *     <li>{@code ring-buffer-sampled}: the same with the endpoint sampled at the configured 10%.</li>
+ * </ul>
+ * {@code work} burns CPU between requests, standing in for the rest of the request; at 0 the loggers run flat out
+ * and the legacy queue fills, so its threads wait on the writer. Console output is encoded but discarded. Events
+ * dropped and sampled out, and the JSON bytes written, are printed per trial, since a cheaper pipeline that drops
+ * everything is no win.
+ * <p>
+ * {@code mvn -Pbench compile exec:exec@jmh -Djmh.args="LoggingPipelineBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingPipelineBenchmark {
+
+    private static final String LEGACY_CONFIG = """
+            <configuration>
+                <include resource="org/springframework/boot/logging/logback/defaults.xml"/>
+                <include resource="org/springframework/boot/logging/logback/console-appender.xml"/>
+                <appender name="FILE_JSON" class="ch.qos.logback.core.FileAppender">
+                    <file>${LOG_DIR}/innov8-app.json</file>
+                    <encoder class="net.logstash.logback.encoder.LogstashEncoder">
+                        <customFields>{"service":"innov8-observability-lab","environment":"production"}</customFields>
+                        <fieldNames>
+                            <timestamp>timestamp</timestamp>
+                            <version>version</version>
+                            <message>message</message>
+                            <logger>logger</logger>
+                            <thread>thread</thread>
+                            <level>level</level>
+                            <levelValue>levelValue</levelValue>
+                            <callerData>[ignore]</callerData>
+                            <stackTrace>stackTrace</stackTrace>
+                            <tags>tags</tags>
+                            <mdc>mdc</mdc>
+                        </fieldNames>
+                        <includeContext>true</includeContext>
+                        <includeMdcKeyName>correlationId</includeMdcKeyName>
+                    </encoder>
+                </appender>
+                <appender name="ASYNC_FILE_JSON" class="ch.qos.logback.classic.AsyncAppender">
+                    <queueSize>512</queueSize>
+                    <discardingThreshold>0</discardingThreshold>
+                    <appender-ref ref="FILE_JSON"/>
+                </appender>
+                <appender name="CONSOLE" class="ch.qos.logback.core.ConsoleAppender">
+                    <encoder>
+                        <pattern>%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n</pattern>
+                    </encoder>
+                </appender>
+                <root level="INFO">
+                    <appender-ref ref="CONSOLE"/>
+                    <appender-ref ref="ASYNC_FILE_JSON"/>
+                </root>
+                <logger name="com.innov8" level="DEBUG">
+                    <appender-ref ref="CONSOLE"/>
+                    <appender-ref ref="ASYNC_FILE_JSON"/>
+                </logger>
+            </configuration>
+            """;
+
+    private static final String ENDPOINT = "GET /personnel/{id}";
+
+    @Param({"off", "legacy", "ring-buffer", "ring-buffer-sampled"})
+    private String pipeline;
+
+    @Param({"0", "2000"})
+    private int work;
+
+    private final Logger serviceLog = LoggerFactory.getLogger("com.innov8.service.PersonnelService");
+
+    private Path logDir;
+    private PrintStream stdout;
+    private LogbackLoggingSystem loggingSystem;
+    private EndpointLogSampler sampler;
+    private long droppedBefore;
+
+    @Setup
+    public void setUp() throws Exception {
+        logDir = Files.createTempDirectory("innov8-logging-bench");
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        switch (pipeline) {
+            case "off" -> context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(Level.OFF);
+            case "legacy" -> {
+                context.putProperty("LOG_DIR", logDir.toString());
+                JoranConfigurator configurator = new JoranConfigurator();
+                configurator.setContext(context);
+                configurator.doConfigure(new ByteArrayInputStream(LEGACY_CONFIG.getBytes(StandardCharsets.UTF_8)));
+            }
+            case "ring-buffer", "ring-buffer-sampled" -> {
+                loggingSystem = new LogbackLoggingSystem(getClass().getClassLoader());
+                loggingSystem.beforeInitialize();
+                // No rollover inside a trial: compressing rolled files is background work, not per-request cost
+                MockEnvironment environment = new MockEnvironment()
+                        .withProperty("innov8.logging.file.directory", logDir.toString())
+                        .withProperty("innov8.logging.file.max-file-size", "100GB")
+                        .withProperty("innov8.logging.file.total-size-cap", "200GB");
+                loggingSystem.initialize(new LoggingInitializationContext(environment),
+                        "classpath:logback-spring.xml", null);
+                if (pipeline.equals("ring-buffer-sampled")) {
+                    sampler = new EndpointLogSampler(1.0, Map.of(ENDPOINT, 0.1));
+                    sampler.attach(context);
+                }
+            }
+            default -> throw new IllegalArgumentException(pipeline);
+        }
+        droppedBefore = DroppedLogEvents.count();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        long dropped = DroppedLogEvents.count() - droppedBefore;
+        long sampledOut = sampler != null ? sampler.sampledOut() : 0;
+        if (sampler != null) {
+            sampler.detach();
+        }
+        if (loggingSystem != null) {
+            loggingSystem.cleanUp();
+        }
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        System.setOut(stdout);
+
+        long bytes;
+        try (Stream<Path> files = Files.walk(logDir)) {
+            bytes = files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+        System.out.printf("%n%s, work=%d: %d events dropped, %d sampled out, %d bytes of JSON written%n",
+                pipeline, work, dropped, sampledOut, bytes);
+        try (Stream<Path> files = Files.walk(logDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void request() {
+        String id = "42";
+        MDC.put("correlationId", CorrelationIds.next());
+        MDC.put("userId", "ANONYMOUS");
+        MDC.put("action", "GET /api/personnel/" + id);
+        MDC.put("endpoint", ENDPOINT);
+        MDC.put("personnelId", id);
+        try {
+            Blackhole.consumeCPU(work);
+            serviceLog.info("Retrieved personnel with id: {}", id);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+}
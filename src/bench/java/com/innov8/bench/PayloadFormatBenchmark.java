@@ -0,0 +1,120 @@
+package com.innov8.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.innov8.config.BinaryEncodings;
+import com.innov8.dto.AuditLogDTO;
+import com.innov8.dto.AuditLogPage;
+import com.innov8.dto.PersonnelDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The list payloads in each negotiable encoding, with the mappers the endpoints use: serialize and deserialize
+ * CPU per page, plus gzip on top of serialization, which is what Tomcat adds when the client accepts it. Bytes
+ * on the wire, raw and gzipped, are printed once per trial.
+ * <p>
+ * {@code mvn -Pbench compile exec:exec@jmh -Djmh.args="PayloadFormatBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectWriter auditPageWriter;
+    private ObjectReader auditPageReader;
+    private ObjectWriter personnelWriter;
+    private ObjectReader personnelReader;
+    private AuditLogPage auditPage;
+    private List<PersonnelDTO> personnel;
+    private byte[] auditPageBytes;
+    private byte[] personnelBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+            case "smile" -> BinaryEncodings.smileMapper();
+            case "cbor" -> BinaryEncodings.cborMapper();
+            default -> throw new IllegalArgumentException(format);
+        };
+        auditPageWriter = objectMapper.writerFor(AuditLogPage.class);
+        auditPageReader = objectMapper.readerFor(AuditLogPage.class);
+        personnelWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, PersonnelDTO.class));
+        personnelReader = objectMapper.readerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, PersonnelDTO.class));
+
+        auditPage = AuditLogPage.of(BenchFixtures.auditLogList(size).stream().map(AuditLogDTO::from).toList(), size);
+        personnel = BenchFixtures.personnelList(size).stream().map(PersonnelDTO::from).toList();
+        auditPageBytes = auditPageWriter.writeValueAsBytes(auditPage);
+        personnelBytes = personnelWriter.writeValueAsBytes(personnel);
+
+        System.out.printf("%n%s, %d rows: audit page %d bytes (%d gzipped), personnel %d bytes (%d gzipped)%n",
+                format, size, auditPageBytes.length, gzip(auditPageBytes).length,
+                personnelBytes.length, gzip(personnelBytes).length);
+    }
+
+    @Benchmark
+    public byte[] auditPageSerialize() throws IOException {
+        return auditPageWriter.writeValueAsBytes(auditPage);
+    }
+
+    @Benchmark
+    public byte[] auditPageSerializeGzip() throws IOException {
+        return gzip(auditPageWriter.writeValueAsBytes(auditPage));
+    }
+
+    @Benchmark
+    public AuditLogPage auditPageDeserialize() throws IOException {
+        return auditPageReader.readValue(auditPageBytes);
+    }
+
+    @Benchmark
+    public byte[] personnelSerialize() throws IOException {
+        return personnelWriter.writeValueAsBytes(personnel);
+    }
+
+    @Benchmark
+    public List<PersonnelDTO> personnelDeserialize() throws IOException {
+        return personnelReader.readValue(personnelBytes);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        }
+        return buffer.toByteArray();
+    }
+
+}
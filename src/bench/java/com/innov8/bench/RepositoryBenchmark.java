@@ -0,0 +1,136 @@
+package com.innov8.bench;
+
+import com.innov8.Innov8ObservabilityLabApplication;
+import com.innov8.dto.AuditLogCursor;
+import com.innov8.dto.AuditLogDTO;
+import com.innov8.dto.PersonnelDTO;
+import com.innov8.model.Personnel;
+import com.innov8.repository.AuditLogRepository;
+import com.innov8.repository.PersonnelRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository query paths against H2 seeded by the synthetic generator with a pinned seed and anchor time, so
+ * every run queries identical data. Audit pages use the API's default page size plus the look-ahead row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    private static final LocalDateTime ANCHOR = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final Limit PAGE = Limit.of(101);
+
+    @Param({"10000"})
+    private long personnel;
+
+    @Param({"200000"})
+    private long auditEvents;
+
+    private ConfigurableApplicationContext context;
+    private PersonnelRepository personnelRepository;
+    private AuditLogRepository auditLogRepository;
+
+    private long[] personnelIds;
+    private String busiestUser;
+    private long busiestEntityId;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Innov8ObservabilityLabApplication.class)
+                .web(WebApplicationType.NONE)
+                // Passed as arguments rather than default properties so they override application.yaml
+                .run("--spring.main.banner-mode=off",
+                        "--logging.level.com.innov8=WARN",
+                        "--innov8.seed.synthetic.enabled=true",
+                        "--innov8.seed.synthetic.personnel=" + personnel,
+                        "--innov8.seed.synthetic.audit-events=" + auditEvents,
+                        "--innov8.seed.synthetic.anchor-time=" + ANCHOR);
+        personnelRepository = context.getBean(PersonnelRepository.class);
+        auditLogRepository = context.getBean(AuditLogRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM personnel ORDER BY id", Long.class);
+        SplittableRandom random = new SplittableRandom(42);
+        personnelIds = new long[1024];
+        for (int i = 0; i < personnelIds.length; i++) {
+            personnelIds[i] = ids.get(random.nextInt(ids.size()));
+        }
+        busiestUser = jdbcTemplate.queryForObject(
+                "SELECT username FROM audit_rollup_hourly GROUP BY username ORDER BY SUM(event_count) DESC LIMIT 1", String.class);
+        busiestEntityId = jdbcTemplate.queryForObject(
+                "SELECT entity_id FROM audit_logs WHERE entity_id IS NOT NULL " +
+                "GROUP BY entity_id ORDER BY COUNT(*) DESC LIMIT 1", Long.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Personnel> personnelFindById() {
+        return personnelRepository.findById(personnelIds[next++ & (personnelIds.length - 1)]);
+    }
+
+    @Benchmark
+    public Optional<PersonnelDTO> personnelFindDtoById() {
+        return personnelRepository.findDtoById(personnelIds[next++ & (personnelIds.length - 1)]);
+    }
+
+    @Benchmark
+    public List<Personnel> personnelFindByDepartment() {
+        return personnelRepository.findByDepartmentIgnoreCase("threat intel");
+    }
+
+    @Benchmark
+    public List<AuditLogDTO> auditFirstPageByUsername() {
+        return auditLogRepository.findPageByUsername(busiestUser,
+                AuditLogCursor.FIRST.timestamp(), AuditLogCursor.FIRST.id(), PAGE);
+    }
+
+    @Benchmark
+    public List<AuditLogDTO> auditFirstPageByEntity() {
+        return auditLogRepository.findPageByEntity("Personnel", busiestEntityId,
+                AuditLogCursor.FIRST.timestamp(), AuditLogCursor.FIRST.id(), PAGE);
+    }
+
+    @Benchmark
+    public List<AuditLogDTO> auditFirstPageOfLastDay() {
+        return auditLogRepository.findPageByTimestampRange(ANCHOR.minusDays(1),
+                ANCHOR, AuditLogCursor.FIRST.id(), PAGE);
+    }
+
+    @Benchmark
+    public List<AuditLogDTO> auditFirstPageByAction() {
+        return auditLogRepository.findPageByAction("DELETE",
+                AuditLogCursor.FIRST.timestamp(), AuditLogCursor.FIRST.id(), PAGE);
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.innov8.bench;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time from launching the JVM to the first successful {@code /api/actuator/health}, per startup mode:
+ * <ul>
+ *     <li>{@code jar}: the executable jar as built, the baseline;</li>
+ *     <li>{@code lazy}: the same with the "lazy" profile;</li>
+ *     <li>{@code aot}: the extracted jar with the AOT-generated bean definitions;</li>
+ *     <li>{@code aot-cds}: that plus the AppCDS archive recorded by the training run;</li>
+ *     <li>{@code aot-cds-lazy}: all three.</li>
+ * </ul>
+ * Modes are interleaved run by run so drift on the host spreads over all of them. Every run gets a fresh port,
+ * log directory and audit journal. All modes need {@code mvn -Pfast-startup package} first; the plain jar from
+ * that build (in target/fast-startup-build) is used for the others, which ignore the AOT classes it also carries.
+ * Only a JDK 21 is required.
+ * <p>
+ * {@code mvn -Pfast-startup package && mvn -Pbench compile exec:java
+ * -Dexec.mainClass=com.innov8.bench.StartupBenchmark -Dexec.args="--runs=5"}
+ */
+public class StartupBenchmark {
+
+    private static final String JAR = "innov8-observability-lab-1.0.0.jar";
+
+    public static void main(String[] args) throws Exception {
+        BenchArgs options = BenchArgs.parse(args);
+        int runs = options.getInt("runs", 5);
+        Path target = Path.of(options.get("target", "target")).toAbsolutePath();
+        List<String> modes = Arrays.asList(options.get("modes", "jar,lazy,aot,aot-cds,aot-cds-lazy").split(","));
+        long timeoutMillis = options.getLong("timeout-seconds", 180) * 1000;
+
+        Path extracted = target.resolve("fast-startup");
+        if (!Files.exists(extracted.resolve("application.jsa"))) {
+            throw new IllegalStateException("No AppCDS archive in " + extracted + "; run mvn -Pfast-startup package");
+        }
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+        Map<String, List<Long>> results = new LinkedHashMap<>();
+        modes.forEach(mode -> results.put(mode, new ArrayList<>()));
+        for (int run = 0; run < runs; run++) {
+            for (String mode : modes) {
+                Path scratch = Files.createTempDirectory("innov8-startup-bench");
+                int port = freePort();
+                List<String> command = new ArrayList<>(List.of(java));
+                Path workingDirectory = target;
+                switch (mode) {
+                    case "jar", "lazy" -> command.addAll(List.of("-jar",
+                            target.resolve("fast-startup-build").resolve(JAR).toString()));
+                    case "aot" -> {
+                        workingDirectory = extracted;
+                        command.addAll(List.of("-Dspring.aot.enabled=true", "-jar", JAR));
+                    }
+                    case "aot-cds", "aot-cds-lazy" -> {
+                        workingDirectory = extracted;
+                        command.addAll(List.of("-XX:SharedArchiveFile=application.jsa", "-Xlog:cds=off",
+                                "-Dspring.aot.enabled=true", "-jar", JAR));
+                    }
+                    default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+                }
+                command.add("--server.port=" + port);
+                command.add("--innov8.logging.file.directory=" + scratch.resolve("logs"));
+                command.add("--innov8.audit.pipeline.journal.directory=" + scratch.resolve("audit-journal"));
+                if (mode.endsWith("lazy")) {
+                    command.add("--spring.profiles.active=lazy");
+                }
+
+                long millis = timeToHealthy(command, workingDirectory, client, port, timeoutMillis);
+                try (Stream<Path> files = Files.walk(scratch)) {
+                    files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+                }
+                results.get(mode).add(millis);
+                System.out.printf("run %d %-13s %6d ms%n", run + 1, mode, millis);
+            }
+        }
+
+        System.out.println();
+        long baseline = median(results.get(modes.get(0)));
+        for (Map.Entry<String, List<Long>> entry : results.entrySet()) {
+            long median = median(entry.getValue());
+            System.out.printf("%-13s median %6d ms  min %6d ms  (%.0f%% of %s)%n", entry.getKey(), median,
+                    entry.getValue().stream().mapToLong(Long::longValue).min().orElseThrow(),
+                    100.0 * median / baseline, modes.get(0));
+        }
+    }
+
+    private static long timeToHealthy(List<String> command, Path workingDirectory, HttpClient client, int port,
+                                      long timeoutMillis) throws IOException, InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workingDirectory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(timeoutMillis)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with code " + process.exitValue()
+                            + ": " + String.join(" ", command));
+                }
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet, or still starting
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Not healthy within " + timeoutMillis + "ms: " + String.join(" ", command));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(60, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+
+}
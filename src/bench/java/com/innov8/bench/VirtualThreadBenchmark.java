@@ -0,0 +1,166 @@
+package com.innov8.bench;
+
+import com.innov8.Innov8ObservabilityLabApplication;
+import com.innov8.repository.PersonnelRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.MDC;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares platform and virtual thread modes under blocking load, booting the application once per mode.
+ * <p>
+ * HTTP: closed-loop clients at increasing concurrency call GET /admin/simulate-latency, which sleeps on the request
+ * thread. Platform mode tops out at server.tomcat.threads.max / latency requests per second, with the excess waiting
+ * in Tomcat's queue; virtual mode should keep scaling until CPU becomes the limit.
+ * <p>
+ * Async: a burst of blocking tasks (sleep plus one JDBC query, the shape of runDeepScan) goes to taskExecutor.
+ * The platform pool rejects everything past max threads plus queue capacity; the virtual executor accepts all of
+ * them. Each task also checks that the submitter's MDC arrived intact.
+ * <p>
+ * {@code mvn -Pbench compile exec:java -Dexec.mainClass=com.innov8.bench.VirtualThreadBenchmark
+ * -Dexec.args="--concurrency=50,200,800 --latency-millis=100 --seconds=10 --tasks=1000"}
+ */
+public class VirtualThreadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        BenchArgs options = BenchArgs.parse(args);
+        int[] concurrencyLevels = Arrays.stream(options.get("concurrency", "50,200,800").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        int latencyMillis = options.getInt("latency-millis", 100);
+        int seconds = options.getInt("seconds", 10);
+        int tasks = options.getInt("tasks", 1000);
+        String modes = options.get("modes", "platform,virtual");
+
+        List<String> results = new ArrayList<>();
+        for (String mode : modes.split(",")) {
+            boolean virtual = mode.equals("virtual");
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Innov8ObservabilityLabApplication.class)
+                    .run("--server.port=0",
+                            "--spring.main.banner-mode=off",
+                            "--logging.level.root=WARN",
+                            "--logging.level.com.innov8=WARN",
+                            "--spring.threads.virtual.enabled=" + virtual)) {
+
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                URI uri = URI.create("http://localhost:" + port + "/api/admin/simulate-latency?millis=" + latencyMillis);
+
+                System.out.printf("%n== %s threads ==%n", mode);
+                for (int concurrency : concurrencyLevels) {
+                    results.add(mode + " " + httpRun(uri, concurrency, seconds));
+                }
+                results.add(mode + " " + asyncRun(context, tasks, latencyMillis));
+
+                Timer pinned = context.getBean(MeterRegistry.class).find("innov8.virtual.pinned").timer();
+                if (pinned != null) {
+                    results.add(String.format("%s pinned events=%d total=%.1fms max=%.1fms", mode, pinned.count(),
+                            pinned.totalTime(TimeUnit.MILLISECONDS), pinned.max(TimeUnit.MILLISECONDS)));
+                }
+            }
+        }
+
+        System.out.printf("%n== summary (latency %dms per call) ==%n", latencyMillis);
+        results.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    private static String httpRun(URI uri, int concurrency, int seconds) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(2), 3);
+        LongAdder errors = new LongAdder();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        latencies.recordValue(Math.min(System.nanoTime() - start, latencies.getHighestTrackableValue()));
+                    }
+                });
+            }
+        }
+
+        String line = String.format("http concurrency=%-5d req/s=%8.1f p50=%8.1fms p99=%8.1fms max=%8.1fms errors=%d",
+                concurrency,
+                latencies.getTotalCount() / (double) seconds,
+                latencies.getValueAtPercentile(50) / 1e6,
+                latencies.getValueAtPercentile(99) / 1e6,
+                latencies.getMaxValue() / 1e6,
+                errors.sum());
+        System.out.println(line);
+        return line;
+    }
+
+    private static String asyncRun(ConfigurableApplicationContext context, int tasks, int latencyMillis)
+            throws InterruptedException {
+        AsyncTaskExecutor executor = context.getBean("taskExecutor", AsyncTaskExecutor.class);
+        PersonnelRepository personnelRepository = context.getBean(PersonnelRepository.class);
+        CountDownLatch done = new CountDownLatch(tasks);
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger mdcMismatches = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < tasks; i++) {
+            String correlationId = "bench-" + i;
+            MDC.put("correlationId", correlationId);
+            try {
+                executor.execute(() -> {
+                    try {
+                        if (!correlationId.equals(MDC.get("correlationId"))) {
+                            mdcMismatches.incrementAndGet();
+                        }
+                        Thread.sleep(latencyMillis);
+                        personnelRepository.count();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rejected.incrementAndGet();
+                done.countDown();
+            } finally {
+                MDC.clear();
+            }
+        }
+        done.await(5, TimeUnit.MINUTES);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        String line = String.format("async tasks=%d accepted=%d rejected=%d makespan=%dms mdc-mismatches=%d",
+                tasks, tasks - rejected.get(), rejected.get(), elapsedMillis, mdcMismatches.get());
+        System.out.println(line);
+        return line;
+    }
+
+}
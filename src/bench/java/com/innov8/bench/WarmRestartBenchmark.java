@@ -0,0 +1,100 @@
+package com.innov8.bench;
+
+import com.innov8.Innov8ObservabilityLabApplication;
+import com.innov8.repository.AuditLogRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Startup time on the persistent profile: one cold start that migrates an empty database and seeds it with the
+ * synthetic dataset, then warm restarts against the data it left behind. Each start is a fresh JVM, timed from
+ * JVM start until the context is up and every runner has finished, so a warm restart pays for class loading and
+ * whatever the application reads back at startup, but no longer for seeding.
+ * <p>
+ * {@code mvn -Pbench compile exec:exec@restart -Drestart.args="--personnel=100000 --audit-events=1000000 --restarts=3"}
+ */
+public class WarmRestartBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        BenchArgs options = BenchArgs.parse(args);
+        if (options.getBoolean("child", false)) {
+            child(Arrays.stream(args).filter(arg -> !arg.equals("--child")).toArray(String[]::new));
+            return;
+        }
+
+        long personnel = options.getLong("personnel", 100_000);
+        long auditEvents = options.getLong("audit-events", 1_000_000);
+        int restarts = options.getInt("restarts", 3);
+        Path directory = Path.of(options.get("directory", Files.createTempDirectory("innov8-restart-bench").toString()));
+
+        List<String> appArgs = List.of(
+                "--spring.profiles.active=persistent",
+                "--innov8.storage.directory=" + directory.resolve("db"),
+                "--innov8.audit.pipeline.journal.directory=" + directory.resolve("journal"),
+                "--innov8.seed.synthetic.enabled=true",
+                "--innov8.seed.synthetic.personnel=" + personnel,
+                "--innov8.seed.synthetic.audit-events=" + auditEvents);
+
+        System.out.printf("Storage in %s%n", directory);
+        report("cold (migrate + seed)", fork(appArgs));
+        for (int i = 1; i <= restarts; i++) {
+            report("warm restart " + i, fork(appArgs));
+        }
+    }
+
+    private static String fork(List<String> appArgs) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                WarmRestartBenchmark.class.getName(), "--child"));
+        command.addAll(appArgs);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        StringBuilder log = new StringBuilder();
+        String result = null;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                log.append(line).append(System.lineSeparator());
+                if (line.startsWith("READY ")) {
+                    result = line.substring("READY ".length());
+                }
+            }
+        }
+        if (process.waitFor() != 0 || result == null) {
+            System.out.print(log);
+            throw new IllegalStateException("Application run failed with exit code " + process.exitValue());
+        }
+        return result;
+    }
+
+    private static void child(String[] appArgs) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Innov8ObservabilityLabApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(appArgs)) {
+            long startupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+            Long personnel = context.getBean(JdbcTemplate.class).queryForObject("SELECT COUNT(*) FROM personnel", Long.class);
+            long auditEvents = context.getBean(AuditLogRepository.class).count();
+            System.out.printf("READY %d %d %d%n", startupMillis, personnel, auditEvents);
+        }
+        System.exit(0);
+    }
+
+    private static void report(String label, String result) {
+        String[] fields = result.split(" ");
+        System.out.printf("%-22s %7d ms  (%s personnel, %s audit events)%n", label, Long.parseLong(fields[0]),
+                fields[1], fields[2]);
+    }
+
+}
@@ -0,0 +1,305 @@
+package com.innov8.analytics;
+
+import com.innov8.config.AuditStatsProperties;
+import com.innov8.dto.AuditStats;
+import com.innov8.model.AuditLog;
+import com.innov8.repository.AuditLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Sliding-window audit statistics maintained from the ingest path.
+ * <p>
+ * AuditLogWriter hands every committed batch to {@link #record}, which folds each event into a ring of 60
+ * minute buckets and a ring of 24 hour buckets: status-class counts, an HDR latency histogram and bounded
+ * per-user and per-action counts. A window is the merge of its buckets (5 or 60 minutes, or 24 hours), so
+ * its cost depends on the number of buckets, never on the number of rows, and the merged result is cached
+ * for {@code innov8.audit.stats.refresh-interval}. Windows are aligned to their bucket size: "5m" covers the
+ * current minute and the four before it.
+ * <p>
+ * Rows already in storage at startup are loaded once by {@link #backfill()}; live recording only accepts
+ * events stamped after this bean was created, so nothing is counted twice.
+ */
+@Component
+@Slf4j
+public class AuditStatsAggregator {
+
+    public enum Window {
+        FIVE_MINUTES("5m", 5, false),
+        ONE_HOUR("1h", 60, false),
+        ONE_DAY("24h", 24, true);
+
+        private final String label;
+        private final int buckets;
+        private final boolean hourly;
+
+        Window(String label, int buckets, boolean hourly) {
+            this.label = label;
+            this.buckets = buckets;
+            this.hourly = hourly;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public static Window parse(String label) {
+            for (Window window : values()) {
+                if (window.label.equals(label.toLowerCase(Locale.ROOT))) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("Unknown stats window '" + label + "', expected 5m, 1h or 24h");
+        }
+    }
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final String[] STATUS_CLASS_NAMES = {"unknown", "1xx", "2xx", "3xx", "4xx", "5xx"};
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final AuditStatsProperties properties;
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Executor taskExecutor;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final StatsBucket[] minutes = new StatsBucket[60];
+    private final StatsBucket[] hours = new StatsBucket[24];
+    private final Map<Window, Snapshot> cache = new ConcurrentHashMap<>();
+    private final long liveFrom = System.currentTimeMillis();
+    private volatile boolean complete;
+
+    public AuditStatsAggregator(AuditStatsProperties properties,
+                                AuditLogRepository auditLogRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Qualifier("taskExecutor") Executor taskExecutor) {
+        this.properties = properties;
+        this.auditLogRepository = auditLogRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        for (int i = 0; i < minutes.length; i++) {
+            minutes[i] = newBucket();
+        }
+        for (int i = 0; i < hours.length; i++) {
+            hours[i] = newBucket();
+        }
+        this.complete = !properties.isBackfill();
+    }
+
+    /**
+     * Folds committed events into their buckets. Called by the writer thread once per batch.
+     */
+    public synchronized void record(List<AuditLog> auditLogs) {
+        long now = System.currentTimeMillis();
+        for (AuditLog auditLog : auditLogs) {
+            long timestamp = epochMillis(auditLog.getTimestamp());
+            if (timestamp >= liveFrom) {
+                recordAt(Math.min(timestamp, now), now, auditLog);
+            }
+        }
+    }
+
+    /**
+     * The window's statistics with the {@code top} heaviest users and actions. Served from cache when the last
+     * merge is younger than the refresh interval.
+     */
+    public AuditStats stats(Window window, int top) {
+        long now = System.currentTimeMillis();
+        Snapshot snapshot = cache.get(window);
+        if (snapshot == null || now - snapshot.computedAt() >= properties.getRefreshInterval().toMillis()) {
+            snapshot = new Snapshot(compute(window, now), now);
+            cache.put(window, snapshot);
+        }
+        AuditStats stats = snapshot.stats();
+        int n = Math.max(1, Math.min(top, properties.getMaxTop()));
+        return stats.toBuilder()
+                .topUsers(stats.getTopUsers().subList(0, Math.min(n, stats.getTopUsers().size())))
+                .topActions(stats.getTopActions().subList(0, Math.min(n, stats.getTopActions().size())))
+                .build();
+    }
+
+    /**
+     * Loads the last 24 hours from storage in the background, so the windows do not start empty after a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!properties.isBackfill()) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            long start = System.currentTimeMillis();
+            LocalDateTime from = toLocalDateTime(liveFrom - 24 * HOUR);
+            LocalDateTime to = toLocalDateTime(liveFrom - 1);
+            try {
+                Long loaded = readOnlyTransaction.execute(status -> {
+                    try (Stream<AuditLog> rows = auditLogRepository.streamByTimestampRange(from, to)) {
+                        List<AuditLog> batch = new ArrayList<>(1000);
+                        long count = 0;
+                        for (AuditLog auditLog : (Iterable<AuditLog>) rows::iterator) {
+                            batch.add(auditLog);
+                            if (batch.size() == 1000) {
+                                count += backfill(batch);
+                            }
+                        }
+                        return count + backfill(batch);
+                    }
+                });
+                log.info("Audit stats backfilled {} events from the last 24h in {}ms",
+                        loaded, System.currentTimeMillis() - start);
+            } catch (Exception e) {
+                log.error("Audit stats backfill failed; windows only cover events since startup", e);
+            } finally {
+                complete = true;
+                cache.clear();
+            }
+        });
+    }
+
+    private synchronized long backfill(List<AuditLog> batch) {
+        long now = System.currentTimeMillis();
+        for (AuditLog auditLog : batch) {
+            recordAt(epochMillis(auditLog.getTimestamp()), now, auditLog);
+        }
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    private void recordAt(long timestamp, long now, AuditLog auditLog) {
+        StatsBucket hour = bucket(hours, HOUR, timestamp, now);
+        if (hour != null) {
+            hour.record(auditLog);
+        }
+        StatsBucket minute = bucket(minutes, MINUTE, timestamp, now);
+        if (minute != null) {
+            minute.record(auditLog);
+        }
+    }
+
+    /**
+     * The ring slot for {@code timestamp}, recycled if it still holds an older period; null when the timestamp
+     * has already fallen out of the ring.
+     */
+    private static StatsBucket bucket(StatsBucket[] ring, long size, long timestamp, long now) {
+        long start = timestamp - Math.floorMod(timestamp, size);
+        if (start <= now - ring.length * size) {
+            return null;
+        }
+        StatsBucket bucket = ring[(int) Math.floorMod(start / size, (long) ring.length)];
+        if (bucket.start > start) {
+            return null;
+        }
+        if (bucket.start != start) {
+            bucket.reset(start);
+        }
+        return bucket;
+    }
+
+    private synchronized AuditStats compute(Window window, long now) {
+        StatsBucket[] ring = window.hourly ? hours : minutes;
+        long size = window.hourly ? HOUR : MINUTE;
+        long current = now - Math.floorMod(now, size);
+        long first = current - (window.buckets - 1) * size;
+
+        StatsBucket total = newBucket();
+        for (long start = first; start <= current; start += size) {
+            StatsBucket bucket = ring[(int) Math.floorMod(start / size, (long) ring.length)];
+            if (bucket.start == start) {
+                bucket.mergeInto(total);
+            }
+        }
+        return toStats(window, total, first, now);
+    }
+
+    private AuditStats toStats(Window window, StatsBucket total, long from, long now) {
+        Map<String, AuditStats.StatusClass> statusClasses = new LinkedHashMap<>();
+        for (int i = 1; i < StatsBucket.STATUS_CLASSES; i++) {
+            // 2xx-5xx are always listed; 1xx and "unknown" only when present
+            if (i >= 2 || total.statusClasses[i] > 0) {
+                statusClasses.put(STATUS_CLASS_NAMES[i], statusClass(total.statusClasses[i], total.events));
+            }
+        }
+        if (total.statusClasses[0] > 0) {
+            statusClasses.put(STATUS_CLASS_NAMES[0], statusClass(total.statusClasses[0], total.events));
+        }
+        long errors = total.statusClasses[4] + total.statusClasses[5];
+
+        return AuditStats.builder()
+                .window(window.label())
+                .from(toLocalDateTime(from))
+                .to(toLocalDateTime(now))
+                .events(total.events)
+                .errorRate(rate(errors, total.events))
+                .statusClasses(statusClasses)
+                .latency(latency(total.latencyMicros))
+                .topUsers(total.users.top(properties.getMaxTop()))
+                .topActions(total.actions.top(properties.getMaxTop()))
+                .complete(complete)
+                .computedAt(toLocalDateTime(now))
+                .build();
+    }
+
+    private static AuditStats.Latency latency(Histogram histogram) {
+        long samples = histogram.getTotalCount();
+        if (samples == 0) {
+            return new AuditStats.Latency(0, null, null, null, null, null, null, null);
+        }
+        Double[] values = new Double[PERCENTILES.length];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            values[i] = millis(histogram.getValueAtPercentile(PERCENTILES[i]));
+        }
+        return new AuditStats.Latency(samples, histogram.getMean() / 1_000, values[0], values[1], values[2],
+                values[3], values[4], millis(histogram.getMaxValue()));
+    }
+
+    private StatsBucket newBucket() {
+        return new StatsBucket(HIGHEST_LATENCY_MICROS, properties.getLatencySignificantDigits(),
+                properties.getTopKeyCapacity());
+    }
+
+    private static AuditStats.StatusClass statusClass(long count, long total) {
+        return new AuditStats.StatusClass(count, rate(count, total));
+    }
+
+    private static double rate(long count, long total) {
+        return total == 0 ? 0.0 : (double) count / total;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    private long epochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+
+    private record Snapshot(AuditStats stats, long computedAt) {
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.innov8.analytics;
+
+import com.innov8.dto.AuditStats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-key event counts with a bounded footprint. Once more than twice {@code capacity} keys are tracked,
+ * all but the heaviest {@code capacity} are pruned, so memory stays flat however many distinct users show up
+ * and the cost of pruning is amortized over {@code capacity} new keys.
+ * <p>
+ * Merging adds counts key by key, so windows are built from bucket summaries without touching raw rows. A key's
+ * reported count can fall short of its true count by at most {@link #error()}, the sum of the largest pruned
+ * counts; heavy hitters well above that bound are ranked exactly.
+ */
+final class HeavyHitters {
+
+    private static final Comparator<Map.Entry<String, long[]>> HEAVIEST_FIRST =
+            Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[0]).reversed()
+                    .thenComparing(Map.Entry::getKey);
+
+    private final int capacity;
+    private final Map<String, long[]> counts = new HashMap<>();
+    private long error;
+
+    HeavyHitters(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void add(String key, long count) {
+        counts.computeIfAbsent(key != null ? key : "unknown", k -> new long[1])[0] += count;
+        if (counts.size() > 2 * capacity) {
+            prune();
+        }
+    }
+
+    void addAll(HeavyHitters other) {
+        other.counts.forEach((key, count) -> add(key, count[0]));
+        error += other.error;
+    }
+
+    List<AuditStats.Ranked> top(int n) {
+        return counts.entrySet().stream()
+                .sorted(HEAVIEST_FIRST)
+                .limit(n)
+                .map(entry -> new AuditStats.Ranked(entry.getKey(), entry.getValue()[0]))
+                .toList();
+    }
+
+    long error() {
+        return error;
+    }
+
+    void clear() {
+        counts.clear();
+        error = 0;
+    }
+
+    private void prune() {
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(HEAVIEST_FIRST);
+        error += entries.get(capacity).getValue()[0];
+        for (Map.Entry<String, long[]> dropped : entries.subList(capacity, entries.size())) {
+            counts.remove(dropped.getKey());
+        }
+    }
+
+}
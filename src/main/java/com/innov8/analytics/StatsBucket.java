@@ -0,0 +1,63 @@
+package com.innov8.analytics;
+
+import com.innov8.model.AuditLog;
+import org.HdrHistogram.Histogram;
+
+import java.util.Arrays;
+
+/**
+ * Everything the stats windows need from the events of one minute or one hour. Buckets are mergeable, so a
+ * window is the sum of its buckets and the same class serves as the accumulator.
+ */
+final class StatsBucket {
+
+    /** Indexes 1-5 count 1xx-5xx responses; 0 counts events without a status. */
+    static final int STATUS_CLASSES = 6;
+
+    long start = Long.MIN_VALUE;
+    long events;
+    final long[] statusClasses = new long[STATUS_CLASSES];
+    final Histogram latencyMicros;
+    final HeavyHitters users;
+    final HeavyHitters actions;
+
+    StatsBucket(long highestLatencyMicros, int significantDigits, int topKeyCapacity) {
+        this.latencyMicros = new Histogram(highestLatencyMicros, significantDigits);
+        this.users = new HeavyHitters(topKeyCapacity);
+        this.actions = new HeavyHitters(topKeyCapacity);
+    }
+
+    void reset(long start) {
+        this.start = start;
+        events = 0;
+        Arrays.fill(statusClasses, 0);
+        latencyMicros.reset();
+        users.clear();
+        actions.clear();
+    }
+
+    void record(AuditLog auditLog) {
+        events++;
+        Integer status = auditLog.getResponseStatus();
+        statusClasses[status != null && status >= 100 && status < 600 ? status / 100 : 0]++;
+        Long nanos = auditLog.getExecutionTimeNanos() != null ? auditLog.getExecutionTimeNanos()
+                : auditLog.getExecutionTime() != null ? auditLog.getExecutionTime() * 1_000_000 : null;
+        if (nanos != null) {
+            // Clamped: a fixed-range histogram rejects values beyond its highest trackable value
+            latencyMicros.recordValue(Math.max(0, Math.min(nanos / 1_000, latencyMicros.getHighestTrackableValue())));
+        }
+        users.add(auditLog.getUsername(), 1);
+        actions.add(auditLog.getAction(), 1);
+    }
+
+    void mergeInto(StatsBucket target) {
+        target.events += events;
+        for (int i = 0; i < STATUS_CLASSES; i++) {
+            target.statusClasses[i] += statusClasses[i];
+        }
+        target.latencyMicros.add(latencyMicros);
+        target.users.addAll(users);
+        target.actions.addAll(actions);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.innov8.bootstrap;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Whether the database already held personnel when the application started, checked once before any seeder runs
+ * so that the sample rows DataLoader inserts do not make the synthetic generator think it ran before. Seeders skip
+ * a database that was not empty, which makes restarts on persistent storage independent of the seed size.
+ */
+@Component
+@Slf4j
+public class DatabaseState {
+
+    private final boolean empty;
+
+    public DatabaseState(JdbcTemplate jdbcTemplate) {
+        this.empty = !Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM personnel)", Boolean.class));
+        if (!empty) {
+            log.info("Existing data found; seeding skipped");
+        }
+    }
+
+    public boolean isEmptyAtStartup() {
+        return empty;
+    }
+
+}
@@ -0,0 +1,360 @@
+package com.innov8.bootstrap;
+
+import com.innov8.config.SyntheticDataProperties;
+import com.innov8.model.AuditLog;
+import com.innov8.model.PersonnelStatus;
+import com.innov8.repository.AuditLogPartitions;
+import com.innov8.repository.AuditLogRepository;
+import com.innov8.repository.AuditRollupRepository;
+import com.innov8.service.DataVersionTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates a production-sized, reproducible dataset: personnel across weighted departments, roles and statuses,
+ * plus audit events whose acting user follows a power law and whose actions follow a read-heavy mix.
+ * <p>
+ * Work is split into fixed-size chunks that run in parallel, each inserted with JDBC batch statements in its own
+ * transaction. Every chunk draws from its own generator seeded by (seed, chunk index) and names are derived from
+ * (seed, id), so the output does not depend on thread scheduling. Ids are reserved from the entity sequences and
+ * the sequences are moved past the generated range, so JPA inserts afterwards do not collide.
+ * <p>
+ * Audit events go straight into their day partitions, which are all created up front; the hourly rollup is
+ * rebuilt per day once every chunk has been written.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String[] FIRST_NAMES = {
+            "Amal", "Nimal", "Kumari", "Rohan", "Priya", "Kasun", "Dilani", "Sunil", "Chamari", "Tharindu",
+            "Nadeesha", "Ruwan", "Ishara", "Lahiru", "Sanduni", "Mahesh", "Hiruni", "Dinesh", "Anjali", "Pradeep",
+            "Shehan", "Malsha", "Chathura", "Gayani", "Asanka", "Nirosha", "Janith", "Thilini", "Kavinda", "Rashmi"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Perera", "Fernando", "Silva", "Jayawardena", "Wickramasinghe", "Bandara", "Dissanayake", "Gunawardena",
+            "Herath", "Karunaratne", "Kumara", "Rajapaksa", "Senanayake", "Wijesinghe", "Abeysekera", "Amarasinghe",
+            "Ekanayake", "Gamage", "Jayasinghe", "Liyanage", "Mendis", "Nanayakkara", "Pathirana", "Ranasinghe"
+    };
+
+    private static final Weighted<Department> DEPARTMENTS = new Weighted<>(
+            new Department[]{
+                    new Department("SOC", "Security Analyst", "Incident Responder", "SOC Lead"),
+                    new Department("Engineering", "Security Engineer", "Software Engineer", "Platform Engineer"),
+                    new Department("IT Operations", "Systems Administrator", "Network Engineer"),
+                    new Department("Red Team", "Penetration Tester", "Red Team Operator"),
+                    new Department("GRC", "Compliance Officer", "Risk Analyst", "Auditor"),
+                    new Department("Threat Intel", "Threat Intelligence Analyst"),
+                    new Department("Identity", "IAM Engineer", "Access Reviewer")
+            },
+            new double[]{30, 25, 15, 10, 10, 5, 5});
+
+    private static final Weighted<PersonnelStatus> STATUSES = new Weighted<>(
+            new PersonnelStatus[]{PersonnelStatus.ACTIVE, PersonnelStatus.INACTIVE, PersonnelStatus.PENDING},
+            new double[]{85, 10, 5});
+
+    private static final Weighted<String> ACTIONS = new Weighted<>(
+            new String[]{"READ", "UPDATE", "CREATE", "LOGIN", "LOGOUT", "DELETE"},
+            new double[]{70, 12, 8, 5, 3, 2});
+
+    private static final String[] USER_AGENTS = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/129.0 Safari/537.36",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 14_6) AppleWebKit/605.1.15 Version/17.6 Safari/605.1.15",
+            "Mozilla/5.0 (X11; Linux x86_64; rv:131.0) Gecko/20100101 Firefox/131.0",
+            "curl/8.5.0",
+            "python-requests/2.32.3"
+    };
+
+    private static final String INSERT_PERSONNEL =
+            "INSERT INTO personnel (id, name, email, role, department, status, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    /** Matches the allocationSize of the entity sequence generators. */
+    private static final int SEQUENCE_ALLOCATION = 50;
+
+    private final SyntheticDataProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final DataVersionTracker dataVersionTracker;
+    private final AuditLogPartitions auditLogPartitions;
+    private final AuditLogRepository auditLogRepository;
+    private final AuditRollupRepository auditRollupRepository;
+    private final DatabaseState databaseState;
+
+    @Override
+    public void run(String... args) throws Exception {
+        // Checked here rather than with @ConditionalOnProperty, which AOT processing would settle at build time
+        if (!properties.isEnabled() || !databaseState.isEmptyAtStartup()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        LocalDateTime anchor = properties.getAnchorTime() != null
+                ? properties.getAnchorTime()
+                : LocalDate.now().atStartOfDay();
+
+        log.info("Generating {} personnel and {} audit events (seed={}, parallelism={})",
+                properties.getPersonnel(), properties.getAuditEvents(), properties.getSeed(), properties.getParallelism());
+
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("innov8-seed-" + thread.threadId());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long firstPersonnelId = reserveIds("personnel_seq", properties.getPersonnel());
+            generate(executor, "personnel", properties.getPersonnel(), (chunk, from, to) ->
+                    insertPersonnel(chunk, firstPersonnelId, from, to, anchor));
+            dataVersionTracker.personnelChanged();
+
+            if (properties.getPersonnel() > 0) {
+                LocalDate firstDay = anchor.minus(properties.getAuditHistory()).toLocalDate();
+                auditLogPartitions.ensureRange(firstDay, anchor.toLocalDate());
+                long firstAuditId = reserveIds("audit_logs_seq", properties.getAuditEvents());
+                generate(executor, "audit event", properties.getAuditEvents(), (chunk, from, to) ->
+                        insertAuditLogs(chunk, firstAuditId, firstPersonnelId, from, to, anchor));
+                rebuildRollups(firstDay, anchor.toLocalDate());
+                dataVersionTracker.auditLogsChanged();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Synthetic dataset generated in {}ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Takes one value from the sequence as the start of a contiguous id block and restarts the sequence beyond it.
+     * Hibernate's pooled optimizer only hands out ids at or below values it has fetched itself, so neither ids it
+     * already holds in memory nor blocks it fetches later can overlap the reserved range.
+     */
+    private long reserveIds(String sequence, long count) {
+        Long first = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+        long restartAt = first + count + SEQUENCE_ALLOCATION;
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restartAt);
+        return first + 1;
+    }
+
+    private void generate(ExecutorService executor, String label, long total, ChunkWriter writer) throws Exception {
+        int chunkSize = properties.getChunkSize();
+        long chunks = (total + chunkSize - 1) / chunkSize;
+        AtomicLong written = new AtomicLong();
+        long start = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (long chunk = 0; chunk < chunks; chunk++) {
+            long from = chunk * chunkSize;
+            long to = Math.min(total, from + chunkSize);
+            long chunkIndex = chunk;
+            futures.add(executor.submit(() -> {
+                transactionTemplate.executeWithoutResult(status -> writer.write(chunkIndex, from, to));
+                long done = written.addAndGet(to - from);
+                if (chunkIndex % 50 == 49) {
+                    log.info("Generated {}/{} {} rows", done, total, label);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        log.info("Generated {} {} rows in {}ms ({} rows/s)", total, label, elapsed, total * 1000 / elapsed);
+    }
+
+    private void insertPersonnel(long chunk, long firstId, long from, long to, LocalDateTime anchor) {
+        SplittableRandom random = chunkRandom(0x5045_5253L, chunk);
+        long createdWindowSeconds = 3L * 365 * 24 * 3600;
+
+        jdbcTemplate.batchUpdate(INSERT_PERSONNEL, range(from, to), 1000, (PreparedStatement ps, Long index) -> {
+            long id = firstId + index;
+            Department department = DEPARTMENTS.pick(random);
+            LocalDateTime createdAt = anchor.minusSeconds(random.nextLong(createdWindowSeconds));
+            LocalDateTime updatedAt = createdAt.plusSeconds(
+                    random.nextLong(Math.max(1, Duration.between(createdAt, anchor).toSeconds())));
+
+            ps.setLong(1, id);
+            ps.setString(2, nameFor(id));
+            ps.setString(3, emailFor(id));
+            ps.setString(4, department.roles()[random.nextInt(department.roles().length)]);
+            ps.setString(5, department.name());
+            ps.setString(6, STATUSES.pick(random).name());
+            ps.setTimestamp(7, Timestamp.valueOf(createdAt));
+            ps.setTimestamp(8, Timestamp.valueOf(updatedAt));
+        });
+    }
+
+    private void insertAuditLogs(long chunk, long firstId, long firstPersonnelId, long from, long to, LocalDateTime anchor) {
+        SplittableRandom random = chunkRandom(0x4155_4449L, chunk);
+        long historyMillis = properties.getAuditHistory().toMillis();
+        long population = properties.getPersonnel();
+        double skew = properties.getUserSkew();
+
+        List<AuditLog> auditLogs = new ArrayList<>((int) (to - from));
+        for (long index = from; index < to; index++) {
+            // u^skew piles probability onto small indexes: with skew 4, half of all events come from ~6% of users
+            long actor = firstPersonnelId + Math.min(population - 1, (long) (population * Math.pow(random.nextDouble(), skew)));
+            long target = firstPersonnelId + random.nextLong(population);
+            String action = ACTIONS.pick(random);
+            int status = statusFor(action, random);
+            // Log-normal latency around a 15ms median
+            long nanos = (long) (15_000_000 * Math.exp(0.8 * random.nextGaussian()));
+            boolean session = action.equals("LOGIN") || action.equals("LOGOUT");
+
+            auditLogs.add(AuditLog.builder()
+                    .id(firstId + index)
+                    .action(action)
+                    .entityType(session ? "Session" : "Personnel")
+                    .entityId(session ? null : target)
+                    .username(emailFor(actor))
+                    .ipAddress("10." + (actor >> 16 & 0xFF) + "." + (actor >> 8 & 0xFF) + "." + (actor & 0xFF))
+                    .details(detailsFor(action))
+                    .responseStatus(status)
+                    .executionTime(nanos / 1_000_000)
+                    .executionTimeNanos(nanos)
+                    .timestamp(anchor.minusNanos(random.nextLong(historyMillis) * 1_000_000))
+                    .userAgent(USER_AGENTS[(int) (actor % USER_AGENTS.length)])
+                    .build());
+        }
+        auditLogRepository.insertAll(auditLogs);
+    }
+
+    private void rebuildRollups(LocalDate firstDay, LocalDate lastDay) {
+        long start = System.currentTimeMillis();
+        firstDay.datesUntil(lastDay.plusDays(1)).forEach(auditRollupRepository::rebuild);
+        log.info("Rebuilt hourly audit rollups for {} to {} in {}ms", firstDay, lastDay, System.currentTimeMillis() - start);
+    }
+
+    private static int statusFor(String action, SplittableRandom random) {
+        double roll = random.nextDouble();
+        if (roll < 0.005) {
+            return 500;
+        }
+        if (roll < 0.025) {
+            return action.equals("LOGIN") ? 401 : 404;
+        }
+        if (roll < 0.035 && action.equals("UPDATE")) {
+            return 409;
+        }
+        return switch (action) {
+            case "CREATE" -> 201;
+            case "DELETE" -> 204;
+            default -> 200;
+        };
+    }
+
+    private static String detailsFor(String action) {
+        return switch (action) {
+            case "READ" -> "GET /personnel/{id}";
+            case "UPDATE" -> "PUT /personnel/{id}";
+            case "CREATE" -> "POST /personnel";
+            case "DELETE" -> "DELETE /personnel/{id}";
+            default -> action;
+        };
+    }
+
+    private String nameFor(long id) {
+        long hash = mix(properties.getSeed() ^ id);
+        return FIRST_NAMES[(int) Long.remainderUnsigned(hash, FIRST_NAMES.length)] + " "
+                + LAST_NAMES[(int) Long.remainderUnsigned(hash >>> 32, LAST_NAMES.length)];
+    }
+
+    /**
+     * Derived from the id alone so audit generation can name the acting user without reading personnel back.
+     */
+    private String emailFor(long id) {
+        long hash = mix(properties.getSeed() ^ id);
+        return FIRST_NAMES[(int) Long.remainderUnsigned(hash, FIRST_NAMES.length)].toLowerCase() + "."
+                + LAST_NAMES[(int) Long.remainderUnsigned(hash >>> 32, LAST_NAMES.length)].toLowerCase() + "."
+                + id + "@innov8.lk";
+    }
+
+    private SplittableRandom chunkRandom(long stream, long chunk) {
+        return new SplittableRandom(mix(properties.getSeed() ^ mix(stream ^ mix(chunk))));
+    }
+
+    /** SplitMix64 finalizer. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static List<Long> range(long from, long to) {
+        List<Long> indexes = new ArrayList<>((int) (to - from));
+        for (long i = from; i < to; i++) {
+            indexes.add(i);
+        }
+        return indexes;
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(long chunk, long from, long to);
+    }
+
+    private record Department(String name, String... roles) {
+    }
+
+    /**
+     * Categorical distribution sampled by binary search over cumulative weights.
+     */
+    private static final class Weighted<T> {
+
+        private final T[] values;
+        private final double[] cumulative;
+
+        private Weighted(T[] values, double[] weights) {
+            this.values = values;
+            this.cumulative = new double[weights.length];
+            double total = 0;
+            for (double weight : weights) {
+                total += weight;
+            }
+            double running = 0;
+            for (int i = 0; i < weights.length; i++) {
+                running += weights[i];
+                cumulative[i] = running / total;
+            }
+        }
+
+        private T pick(SplittableRandom random) {
+            double roll = random.nextDouble();
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < roll) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return values[low];
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.innov8.chaos;
+
+import com.innov8.config.ChaosProperties.Distribution;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/chaos}: inspect and change fault rules without a restart.
+ * <p>
+ * POST {@code {"enabled": false}} flips the kill switch; POST with a {@code point} creates or replaces that rule,
+ * e.g. {@code {"point": "GET /personnel/{id}", "distribution": "LOGNORMAL", "medianMillis": 50, "sigma": 0.8}}.
+ * DELETE {@code ?point=...} removes a rule. Invalid input is an IllegalArgumentException, answered as 400 by
+ * GlobalExceptionHandler.
+ */
+@Component
+@Endpoint(id = "chaos")
+@RequiredArgsConstructor
+public class ChaosEndpoint {
+
+    private final FaultInjector faultInjector;
+
+    @ReadOperation
+    public Map<String, Object> rules() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", faultInjector.isEnabled());
+        body.put("rules", faultInjector.getRules());
+        return body;
+    }
+
+    @WriteOperation
+    public Map<String, Object> update(@Nullable Boolean enabled, @Nullable String point,
+                                      @Nullable Double probability, @Nullable Distribution distribution,
+                                      @Nullable Long fixedMillis, @Nullable Long minMillis, @Nullable Long maxMillis,
+                                      @Nullable Long medianMillis, @Nullable Double sigma,
+                                      @Nullable Double errorRate, @Nullable Integer errorStatus) {
+        if (enabled == null && point == null) {
+            throw new IllegalArgumentException("Provide 'enabled', 'point', or both");
+        }
+        if (point != null) {
+            LatencyDistribution latency = switch (distribution != null ? distribution : Distribution.NONE) {
+                case NONE -> LatencyDistribution.NONE;
+                case FIXED -> LatencyDistribution.fixed(orZero(fixedMillis));
+                case UNIFORM -> LatencyDistribution.uniform(orZero(minMillis), orZero(maxMillis));
+                case LOGNORMAL -> LatencyDistribution.lognormal(orZero(medianMillis), sigma != null ? sigma : 0.5);
+            };
+            faultInjector.putRule(new FaultRule(point, probability != null ? probability : 1.0, latency,
+                    errorRate != null ? errorRate : 0.0, errorStatus != null ? errorStatus : 503));
+        }
+        if (enabled != null) {
+            faultInjector.setEnabled(enabled);
+        }
+        return rules();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> remove(String point) {
+        if (!faultInjector.removeRule(point)) {
+            throw new IllegalArgumentException("No fault rule for " + point);
+        }
+        return rules();
+    }
+
+    private static long orZero(Long millis) {
+        return millis != null ? millis : 0;
+    }
+
+}
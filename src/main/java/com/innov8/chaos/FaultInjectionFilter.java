@@ -0,0 +1,93 @@
+package com.innov8.chaos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innov8.chaos.FaultRule.Fault;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Applies endpoint fault rules before the request reaches Spring MVC.
+ * <p>
+ * A delayed request is put into servlet async mode and released by the {@link FaultInjector} scheduler: the Tomcat
+ * thread goes back to the pool for the whole delay, and the request is then dispatched to its handler as usual (or
+ * answered with the rule's error status). Observation filters ahead of this one see the full delayed latency.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    /**
+     * Extra time the container allows a delayed request beyond the delay itself.
+     */
+    private static final long ASYNC_TIMEOUT_MARGIN_MILLIS = 30_000;
+
+    private final FaultInjector faultInjector;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !faultInjector.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Fault fault = faultInjector.decideForRequest(request.getMethod(), path);
+        if (fault == null || fault.isNoop()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (fault.delayMillis() <= 0) {
+            writeError(response, fault);
+            return;
+        }
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(fault.delayMillis() + ASYNC_TIMEOUT_MARGIN_MILLIS);
+        faultInjector.schedule(fault).whenComplete((ignored, failure) -> {
+            if (failure == null) {
+                asyncContext.dispatch();
+                return;
+            }
+            try {
+                writeError((HttpServletResponse) asyncContext.getResponse(), fault);
+            } catch (IOException e) {
+                log.debug("Could not write injected error for {}", path, e);
+            } finally {
+                asyncContext.complete();
+            }
+        });
+    }
+
+    private void writeError(HttpServletResponse response, Fault fault) throws IOException {
+        HttpStatus status = HttpStatus.valueOf(fault.errorStatus());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("message", "Injected fault at " + fault.point());
+        body.put("error", status.getReasonPhrase());
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+}
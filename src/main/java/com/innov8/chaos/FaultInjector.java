@@ -0,0 +1,208 @@
+package com.innov8.chaos;
+
+import com.innov8.chaos.FaultRule.Fault;
+import com.innov8.config.ChaosProperties;
+import com.innov8.logging.MdcScope;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runtime registry of fault rules and the scheduler that serves injected delays.
+ * <p>
+ * Delays never sleep the calling thread: {@link #inject(String)} returns a future that a single scheduler thread
+ * completes when the delay elapses, so a delayed request or scan holds no Tomcat or executor thread while it waits.
+ * Futures complete inside the caller's MDC, so continuations submitted from them keep their correlation context.
+ */
+@Component
+@Slf4j
+public class FaultInjector implements DisposableBean {
+
+    private static final PathPatternParser PATTERN_PARSER = PathPatternParser.defaultInstance;
+
+    private final ScheduledExecutorService scheduler;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean enabled;
+    /** Copy-on-write so the per-request lookup never locks; rules change rarely. */
+    private volatile Map<String, FaultRule> rules = Map.of();
+    private volatile List<EndpointRule> endpointRules = List.of();
+
+    public FaultInjector(ChaosProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = properties.isEnabled();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "innov8-chaos");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+
+        properties.getRules().forEach((point, rule) -> putRule(FaultRule.from(point, rule)));
+        log.info("Fault injection {} with {} rules", enabled ? "enabled" : "disabled", rules.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        log.warn("Fault injection {}", enabled ? "enabled" : "disabled");
+    }
+
+    public Map<String, FaultRule> getRules() {
+        return rules;
+    }
+
+    public synchronized void putRule(FaultRule rule) {
+        EndpointRule endpointRule = EndpointRule.parse(rule);
+        Map<String, FaultRule> updated = new LinkedHashMap<>(rules);
+        updated.put(rule.point(), rule);
+        List<EndpointRule> updatedEndpoints = new ArrayList<>(endpointRules);
+        updatedEndpoints.removeIf(existing -> existing.rule().point().equals(rule.point()));
+        if (endpointRule != null) {
+            updatedEndpoints.add(endpointRule);
+        }
+        rules = Collections.unmodifiableMap(updated);
+        endpointRules = List.copyOf(updatedEndpoints);
+    }
+
+    public synchronized boolean removeRule(String point) {
+        if (!rules.containsKey(point)) {
+            return false;
+        }
+        Map<String, FaultRule> updated = new LinkedHashMap<>(rules);
+        updated.remove(point);
+        rules = Collections.unmodifiableMap(updated);
+        endpointRules = endpointRules.stream().filter(rule -> !rule.rule().point().equals(point)).toList();
+        return true;
+    }
+
+    /**
+     * Draws the fault for one call at a named injection point; null when chaos is off or no rule applies.
+     */
+    public Fault decide(String point) {
+        if (!enabled) {
+            return null;
+        }
+        FaultRule rule = rules.get(point);
+        return rule != null ? record(rule.sample(ThreadLocalRandom.current())) : null;
+    }
+
+    /**
+     * Draws the fault for an HTTP request from the first endpoint rule that matches, in insertion order.
+     *
+     * @param path the request path below the servlet context path
+     */
+    public Fault decideForRequest(String method, String path) {
+        if (!enabled || endpointRules.isEmpty()) {
+            return null;
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (EndpointRule endpointRule : endpointRules) {
+            if (endpointRule.matches(method, pathContainer)) {
+                return record(endpointRule.rule().sample(ThreadLocalRandom.current()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Applies the rule for a named injection point. The returned future completes after the drawn delay, or fails
+     * with {@link InjectedFaultException} when the call drew an error; it is already complete when nothing fires.
+     */
+    public CompletableFuture<Void> inject(String point) {
+        return schedule(decide(point));
+    }
+
+    /**
+     * Completes after the fault's delay without blocking the caller; fails if the fault is an error.
+     */
+    public CompletableFuture<Void> schedule(Fault fault) {
+        if (fault == null || fault.isNoop()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (fault.delayMillis() <= 0) {
+            return CompletableFuture.failedFuture(new InjectedFaultException(fault.point()));
+        }
+
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        scheduler.schedule(() -> {
+            try (MdcScope ignored = MdcScope.replacing(context)) {
+                if (fault.error()) {
+                    future.completeExceptionally(new InjectedFaultException(fault.point()));
+                } else {
+                    future.complete(null);
+                }
+            }
+        }, fault.delayMillis(), TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    private Fault record(Fault fault) {
+        if (fault.delayMillis() > 0) {
+            counter(fault.point(), "latency").increment();
+        }
+        if (fault.error()) {
+            counter(fault.point(), "error").increment();
+        }
+        return fault;
+    }
+
+    private Counter counter(String point, String type) {
+        return Counter.builder("innov8.chaos.injected")
+                .description("Faults injected by type and injection point")
+                .tag("point", point)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * A rule keyed {@code "<METHOD> <pattern>"}; {@code *} matches any method.
+     */
+    private record EndpointRule(FaultRule rule, HttpMethod method, PathPattern pattern) {
+
+        static EndpointRule parse(FaultRule rule) {
+            String point = rule.point().trim();
+            int space = point.indexOf(' ');
+            if (space < 0 || point.indexOf('/', space) < 0) {
+                return null;
+            }
+            String method = point.substring(0, space);
+            String pattern = point.substring(space + 1).trim();
+            return new EndpointRule(rule, method.equals("*") ? null : HttpMethod.valueOf(method.toUpperCase()),
+                    PATTERN_PARSER.parse(pattern));
+        }
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.matches(requestMethod)) && pattern.matches(path);
+        }
+    }
+
+}
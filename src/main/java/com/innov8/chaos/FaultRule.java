@@ -0,0 +1,60 @@
+package com.innov8.chaos;
+
+import com.innov8.config.ChaosProperties;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * What to inject at one injection point: a delay applied with {@code probability} and, independently, a failure
+ * with {@code errorRate}.
+ */
+public record FaultRule(String point, double probability, LatencyDistribution latency,
+                        double errorRate, int errorStatus) {
+
+    public FaultRule {
+        if (point == null || point.isBlank()) {
+            throw new IllegalArgumentException("Fault rule needs an injection point");
+        }
+        if (probability < 0 || probability > 1 || errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("probability and errorRate must be between 0 and 1");
+        }
+        if (errorStatus < 400 || errorStatus > 599) {
+            throw new IllegalArgumentException("errorStatus must be a 4xx or 5xx status");
+        }
+    }
+
+    static FaultRule from(String point, ChaosProperties.Rule rule) {
+        LatencyDistribution latency = switch (rule.getDistribution()) {
+            case NONE -> LatencyDistribution.NONE;
+            case FIXED -> LatencyDistribution.fixed(millis(rule.getFixed()));
+            case UNIFORM -> LatencyDistribution.uniform(millis(rule.getMin()), millis(rule.getMax()));
+            case LOGNORMAL -> LatencyDistribution.lognormal(millis(rule.getMedian()), rule.getSigma());
+        };
+        return new FaultRule(point, rule.getProbability(), latency, rule.getErrorRate(), rule.getErrorStatus());
+    }
+
+    /**
+     * Decides what happens to one call.
+     */
+    Fault sample(Random random) {
+        long delayMillis = random.nextDouble() < probability ? latency.sampleMillis(random) : 0;
+        boolean error = errorRate > 0 && random.nextDouble() < errorRate;
+        return new Fault(point, delayMillis, error, errorStatus);
+    }
+
+    private static long millis(Duration duration) {
+        return duration != null ? duration.toMillis() : 0;
+    }
+
+    /**
+     * The outcome drawn for a single call.
+     */
+    public record Fault(String point, long delayMillis, boolean error, int errorStatus) {
+
+        public boolean isNoop() {
+            return delayMillis <= 0 && !error;
+        }
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.innov8.chaos;
+
+/**
+ * Failure raised by a fault rule's error rate rather than by a real problem.
+ */
+public class InjectedFaultException extends RuntimeException {
+
+    public InjectedFaultException(String point) {
+        super("Injected fault at " + point);
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.innov8.chaos;
+
+import com.innov8.config.ChaosProperties.Distribution;
+
+import java.util.Random;
+
+/**
+ * Injected delay in milliseconds, drawn per call.
+ */
+public record LatencyDistribution(Distribution distribution, long fixedMillis, long minMillis, long maxMillis,
+                                  long medianMillis, double sigma) {
+
+    public static final LatencyDistribution NONE = new LatencyDistribution(Distribution.NONE, 0, 0, 0, 0, 0);
+
+    public LatencyDistribution {
+        if (fixedMillis < 0 || minMillis < 0 || maxMillis < minMillis || medianMillis < 0 || sigma < 0) {
+            throw new IllegalArgumentException("Invalid " + distribution + " latency: fixed=" + fixedMillis
+                    + "ms, min=" + minMillis + "ms, max=" + maxMillis + "ms, median=" + medianMillis
+                    + "ms, sigma=" + sigma);
+        }
+    }
+
+    public static LatencyDistribution fixed(long millis) {
+        return new LatencyDistribution(Distribution.FIXED, millis, 0, 0, 0, 0);
+    }
+
+    public static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        return new LatencyDistribution(Distribution.UNIFORM, 0, minMillis, maxMillis, 0, 0);
+    }
+
+    public static LatencyDistribution lognormal(long medianMillis, double sigma) {
+        return new LatencyDistribution(Distribution.LOGNORMAL, 0, 0, 0, medianMillis, sigma);
+    }
+
+    public long sampleMillis(Random random) {
+        return switch (distribution) {
+            case NONE -> 0;
+            case FIXED -> fixedMillis;
+            case UNIFORM -> minMillis + (maxMillis > minMillis ? random.nextLong(maxMillis - minMillis + 1) : 0);
+            case LOGNORMAL -> Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+        };
+    }
+
+}
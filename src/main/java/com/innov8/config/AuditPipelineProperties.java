@@ -0,0 +1,102 @@
+package com.innov8.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs for the asynchronous audit ingestion pipeline.
+ */
+@Data
+@ConfigurationProperties(prefix = "innov8.audit.pipeline")
+public class AuditPipelineProperties {
+
+    /**
+     * Maximum number of audit events buffered in memory before backpressure applies. Only used with the journal
+     * disabled, as are the backpressure policy and spill directory: the journal is the buffer then.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Maximum number of events group-committed in a single transaction.
+     */
+    private int batchSize = 200;
+
+    /**
+     * How long the writer lets a partial batch accumulate before committing it. Sleeping instead of waking
+     * on every enqueue keeps the writer from costing a context switch per audited request at moderate load.
+     */
+    private Duration maxLinger = Duration.ofMillis(10);
+
+    /**
+     * How long the writer waits for the first event of a batch before checking for spilled events.
+     */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /**
+     * What producers do when the queue is full.
+     */
+    private BackpressurePolicy backpressure = BackpressurePolicy.BLOCK;
+
+    /**
+     * Directory holding overflow files when the SPILL policy is active.
+     */
+    private String spillDirectory = "./data/audit-spill";
+
+    /**
+     * Upper bound on how long shutdown waits for the queue to drain.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    private Journal journal = new Journal();
+
+    /**
+     * Local append-only journal every event is written to before it is acknowledged; the writer applies it to
+     * the database and replays whatever was not applied after a crash.
+     */
+    @Data
+    public static class Journal {
+
+        private boolean enabled = true;
+
+        private String directory = "./data/audit-journal";
+
+        /**
+         * Size of each memory-mapped segment file. Segments are deleted once every event in them is applied.
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * When appended events are forced to the storage device. A process crash loses nothing under any policy;
+         * this bounds what a kernel crash or power loss can take.
+         */
+        private FsyncPolicy fsync = FsyncPolicy.INTERVAL;
+
+        /**
+         * Flush period under the INTERVAL policy.
+         */
+        private Duration fsyncInterval = Duration.ofMillis(100);
+
+    }
+
+    public enum BackpressurePolicy {
+        /** Producer waits for free capacity. */
+        BLOCK,
+        /** Oldest queued event is discarded to make room. */
+        DROP_OLDEST,
+        /** Overflow is appended to a local file and replayed once the queue has drained. */
+        SPILL
+    }
+
+    public enum FsyncPolicy {
+        /** Each append returns once it is on the device; concurrent appends share one sync. */
+        EVERY_EVENT,
+        /** A background thread syncs every fsync-interval. */
+        INTERVAL,
+        /** Never synced explicitly; the kernel writes pages back on its own schedule. */
+        OS
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.innov8.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sliding-window audit statistics served by /audit-logs/stats.
+ */
+@Data
+@ConfigurationProperties(prefix = "innov8.audit.stats")
+public class AuditStatsProperties {
+
+    /**
+     * How long a computed window is served before it is merged again from the buckets.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(1);
+
+    /**
+     * Distinct users and actions tracked per bucket. Beyond this the lightest keys are pruned, so top-N counts
+     * are exact for heavy hitters and lower bounds otherwise.
+     */
+    private int topKeyCapacity = 1000;
+
+    /**
+     * Largest top-N a request may ask for.
+     */
+    private int maxTop = 100;
+
+    /**
+     * Precision of the latency histograms; 2 keeps every percentile within 1% at about 25 KB per bucket.
+     */
+    private int latencySignificantDigits = 2;
+
+    /**
+     * Load the last 24 hours from storage at startup, so the windows are complete immediately.
+     */
+    private boolean backfill = true;
+
+}
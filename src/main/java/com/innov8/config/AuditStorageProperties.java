@@ -0,0 +1,30 @@
+package com.innov8.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Day-partitioned audit storage: how long raw events and hourly rollups are kept.
+ */
+@Data
+@ConfigurationProperties(prefix = "innov8.audit.storage")
+public class AuditStorageProperties {
+
+    /**
+     * Day partitions entirely older than this are dropped. Zero keeps everything.
+     */
+    private Duration retention = Duration.ofDays(90);
+
+    /**
+     * Hourly rollup rows older than this are deleted; rollups are small, so they outlive the raw events.
+     */
+    private Duration rollupRetention = Duration.ofDays(400);
+
+    /**
+     * Partitions created ahead of time, so the writer does not run DDL when the day rolls over.
+     */
+    private int precreateDays = 1;
+
+}
@@ -0,0 +1,63 @@
+package com.innov8.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Object mappers for the binary response encodings, negotiated with {@code Accept: application/x-jackson-smile}
+ * or {@code Accept: application/cbor}; JSON stays the default. Smile back-references repeated field names, so a
+ * list pays for each key once, and both formats write {@link LocalDateTime} as epoch milliseconds in the server's
+ * zone instead of an ISO string. Shared with the benchmarks, so they measure what the endpoints send.
+ */
+public final class BinaryEncodings {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    public static final MediaType CBOR = new MediaType("application", "cbor");
+
+    private BinaryEncodings() {
+    }
+
+    public static ObjectMapper smileMapper() {
+        return Jackson2ObjectMapperBuilder.smile().modulesToInstall(epochMillis()).build();
+    }
+
+    public static ObjectMapper cborMapper() {
+        return Jackson2ObjectMapperBuilder.cbor().modulesToInstall(epochMillis()).build();
+    }
+
+    /**
+     * Registered after the well-known JavaTimeModule, so it takes precedence for LocalDateTime.
+     */
+    private static SimpleModule epochMillis() {
+        ZoneId zone = ZoneId.systemDefault();
+        SimpleModule module = new SimpleModule("innov8-epoch-millis");
+        module.addSerializer(LocalDateTime.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+                    throws IOException {
+                generator.writeNumber(value.atZone(zone).toInstant().toEpochMilli());
+            }
+        });
+        module.addDeserializer(LocalDateTime.class, new JsonDeserializer<>() {
+            @Override
+            public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()), zone);
+            }
+        });
+        return module;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.innov8.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Caffeine-backed caches for PersonnelService reads. Statistics are recorded so Boot's cache metrics
+ * (cache.gets{result=hit|miss}, cache.evictions, cache.size) show up under /actuator/metrics.
+ * With innov8.cache.enabled=false this configuration is skipped and the @Cacheable annotations are inert.
+ */
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(prefix = "innov8.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+
+    public static final String PERSONNEL = "personnel";
+    public static final String PERSONNEL_DIRECTORY = "personnelDirectory";
+
+    @Bean
+    public CacheManager cacheManager(PersonnelCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered below exist; a typo in a cache name fails instead of silently creating one
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(PERSONNEL, build(properties.getPersonnel()));
+        cacheManager.registerCustomCache(PERSONNEL_DIRECTORY, build(properties.getDirectory()));
+        return cacheManager;
+    }
+
+    private static Cache<Object, Object> build(PersonnelCacheProperties.Spec spec) {
+        return Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+}
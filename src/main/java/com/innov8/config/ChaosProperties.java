@@ -0,0 +1,68 @@
+package com.innov8.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fault-injection rules loaded at startup; the chaos actuator endpoint changes them at runtime.
+ * {@code innov8.chaos.enabled=false} is the kill switch: no rule fires while it is off.
+ * <p>
+ * Rule keys are either an endpoint, {@code "<METHOD> <path pattern>"} with {@code *} for any method
+ * (e.g. {@code "[GET /personnel/{id}]"} in YAML), or a named injection point used by a service
+ * (e.g. {@code security-scan}).
+ */
+@Data
+@ConfigurationProperties(prefix = "innov8.chaos")
+public class ChaosProperties {
+
+    private boolean enabled = true;
+
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+
+    @Data
+    public static class Rule {
+
+        /**
+         * Fraction of matching calls that are delayed.
+         */
+        private double probability = 1.0;
+
+        private Distribution distribution = Distribution.NONE;
+
+        /**
+         * Delay for FIXED.
+         */
+        private Duration fixed = Duration.ZERO;
+
+        /**
+         * Bounds for UNIFORM.
+         */
+        private Duration min = Duration.ZERO;
+        private Duration max = Duration.ZERO;
+
+        /**
+         * Median and shape for LOGNORMAL; sigma 0.5 puts p99 at about 3.2x the median.
+         */
+        private Duration median = Duration.ZERO;
+        private double sigma = 0.5;
+
+        /**
+         * Fraction of matching calls that fail, independent of the delay.
+         */
+        private double errorRate = 0.0;
+
+        /**
+         * HTTP status returned by failed endpoint calls.
+         */
+        private int errorStatus = 503;
+    }
+
+    public enum Distribution {
+        NONE, FIXED, UNIFORM, LOGNORMAL
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.innov8.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-endpoint sampling of INFO and DEBUG log events; see {@link com.innov8.logging.EndpointLogSampler}.
+ */
+@Data
+@ConfigurationProperties(prefix = "innov8.logging.sampling")
+public class LogSamplingProperties {
+
+    /**
+     * Fraction of events kept for endpoints without a rate of their own. 1 keeps everything.
+     */
+    private double defaultRate = 1.0;
+
+    /**
+     * Fractions keyed by route template. Keys contain spaces and braces, so bracket them in YAML:
+     * {@code "[GET /personnel/{id}]": 0.1}.
+     */
+    private Map<String, Double> endpoints = new LinkedHashMap<>();
+
+}
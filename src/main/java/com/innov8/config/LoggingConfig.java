@@ -0,0 +1,38 @@
+package com.innov8.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.innov8.logging.DroppedLogEvents;
+import com.innov8.logging.EndpointLogSampler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Attaches the endpoint sampler to Logback once the properties are bound, and exports what the logging pipeline
+ * threw away: events dropped because the async appender's ring buffer was full, and events sampled out.
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Bean(destroyMethod = "detach")
+    public EndpointLogSampler endpointLogSampler(LogSamplingProperties properties) {
+        EndpointLogSampler sampler = new EndpointLogSampler(properties.getDefaultRate(), properties.getEndpoints());
+        sampler.attach((LoggerContext) LoggerFactory.getILoggerFactory());
+        return sampler;
+    }
+
+    @Bean
+    public MeterBinder loggingPipelineMetrics(EndpointLogSampler sampler) {
+        return registry -> {
+            FunctionCounter.builder("innov8.logging.dropped", DroppedLogEvents.class, type -> DroppedLogEvents.count())
+                    .description("Log events dropped because the async appender's ring buffer was full")
+                    .register(registry);
+            FunctionCounter.builder("innov8.logging.sampled", sampler, EndpointLogSampler::sampledOut)
+                    .description("INFO and DEBUG events suppressed by per-endpoint sampling")
+                    .register(registry);
+        };
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.innov8.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Latency instrumentation for the service and repository layers, exported alongside everything else at
+ * /actuator/prometheus (and /actuator/metrics) with no agent involved.
+ * <p>
+ * Classes annotated with {@code @Timed("innov8.service")} or {@code @Timed("innov8.repository")} get one
+ * nanosecond timer per method, tagged with the calling endpoint; Spring Data repositories are timed by Boot as
+ * {@code spring.data.repository.invocations} and get the same tag. The endpoint is the route template a
+ * controller put in the MDC ("GET /personnel/{id}"), or "none" for jobs and startup work, so its values are
+ * bounded by the number of routes; a filter caps them anyway. Histogram buckets are fixed per metric under
+ * management.metrics.distribution.slo.
+ */
+@Configuration
+public class MetricsConfig {
+
+    static final String ENDPOINT_TAG = "endpoint";
+    private static final String NO_ENDPOINT = "none";
+
+    private final int maxEndpointTags;
+
+    public MetricsConfig(@Value("${innov8.metrics.max-endpoint-tags:50}") int maxEndpointTags) {
+        this.maxEndpointTags = maxEndpointTags;
+    }
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry, (ProceedingJoinPoint joinPoint) -> Tags.of(
+                "class", joinPoint.getStaticPart().getSignature().getDeclaringType().getSimpleName(),
+                "method", joinPoint.getStaticPart().getSignature().getName(),
+                ENDPOINT_TAG, endpoint()));
+    }
+
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return invocation -> Tags.of(defaults.repositoryTags(invocation)).and(ENDPOINT_TAG, endpoint());
+    }
+
+    @Bean
+    public MeterFilter serviceEndpointTagLimit() {
+        return MeterFilter.maximumAllowableTags("innov8.service", ENDPOINT_TAG, maxEndpointTags, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter repositoryEndpointTagLimit() {
+        return MeterFilter.maximumAllowableTags("innov8.repository", ENDPOINT_TAG, maxEndpointTags, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter springDataEndpointTagLimit() {
+        return MeterFilter.maximumAllowableTags("spring.data.repository.invocations", ENDPOINT_TAG, maxEndpointTags,
+                MeterFilter.deny());
+    }
+
+    private static String endpoint() {
+        String endpoint = MDC.get(ENDPOINT_TAG);
+        return endpoint != null ? endpoint : NO_ENDPOINT;
+    }
+
+}
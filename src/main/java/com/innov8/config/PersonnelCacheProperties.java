@@ -0,0 +1,41 @@
+package com.innov8.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing for the in-process Personnel caches. Set {@code innov8.cache.enabled=false} to run uncached.
+ */
+@Data
+@ConfigurationProperties(prefix = "innov8.cache")
+public class PersonnelCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Single Personnel records keyed by id.
+     */
+    private Spec personnel = new Spec(10_000, Duration.ofMinutes(10));
+
+    /**
+     * The full directory as returned by GET /personnel. Only one entry ever exists.
+     */
+    private Spec directory = new Spec(1, Duration.ofSeconds(30));
+
+    @Data
+    public static class Spec {
+        private long maximumSize;
+        private Duration timeToLive;
+
+        public Spec() {
+        }
+
+        public Spec(long maximumSize, Duration timeToLive) {
+            this.maximumSize = maximumSize;
+            this.timeToLive = timeToLive;
+        }
+    }
+
+}
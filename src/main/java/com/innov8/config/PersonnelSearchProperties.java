@@ -0,0 +1,28 @@
+package com.innov8.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * In-memory personnel search index behind GET /personnel/search.
+ */
+@Data
+@ConfigurationProperties(prefix = "innov8.personnel-search")
+public class PersonnelSearchProperties {
+
+    /**
+     * Threads used to rebuild the index from the table at startup.
+     */
+    private int rebuildParallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Dictionary terms a prefix or fuzzy query token may expand to, per field. Keeps one-letter prefixes cheap.
+     */
+    private int maxExpansions = 64;
+
+    /**
+     * Upper bound on offset + limit; deeper pages than this are rejected.
+     */
+    private int maxResultWindow = 10_000;
+
+}
@@ -0,0 +1,41 @@
+package com.innov8.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the incremental security scan behind SecurityAuditService.runDeepScan.
+ */
+@Data
+@ConfigurationProperties(prefix = "innov8.security-scan")
+public class SecurityScanProperties {
+
+    /**
+     * Changed rows per unit of parallel work and per transaction.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Fork/join parallelism; defaults to the number of available processors.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Each run examines rows updated up to this long before it started. updatedAt is stamped before commit, so the
+     * lag must exceed the longest personnel write transaction or a late commit could fall behind the watermark.
+     */
+    private Duration watermarkLag = Duration.ofSeconds(5);
+
+    /**
+     * Addresses outside this domain are reported as EXTERNAL_EMAIL.
+     */
+    private String corporateDomain = "innov8.lk";
+
+    /**
+     * PENDING accounts older than this are reported as STALE_PENDING.
+     */
+    private Duration pendingReviewAfter = Duration.ofDays(30);
+
+}
@@ -0,0 +1,60 @@
+package com.innov8.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Settings for the synthetic dataset generator. Enabled by the "synthetic" profile or
+ * {@code innov8.seed.synthetic.enabled=true}.
+ */
+@Data
+@ConfigurationProperties(prefix = "innov8.seed.synthetic")
+public class SyntheticDataProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Number of personnel rows to generate.
+     */
+    private long personnel = 100_000;
+
+    /**
+     * Number of audit events to generate.
+     */
+    private long auditEvents = 1_000_000;
+
+    /**
+     * Same seed, same rows: benchmark runs against identical data.
+     */
+    private long seed = 42L;
+
+    /**
+     * Worker threads; defaults to the number of available processors.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Rows per transaction and per unit of parallel work.
+     */
+    private int chunkSize = 10_000;
+
+    /**
+     * Audit timestamps are spread over this window ending at the anchor time.
+     */
+    private Duration auditHistory = Duration.ofDays(30);
+
+    /**
+     * End of the generated time window. Defaults to the start of the current day; pin it to make
+     * timestamps identical across days as well as across runs.
+     */
+    private LocalDateTime anchorTime;
+
+    /**
+     * Exponent of the power law used to pick the acting user; higher means a few users generate most events.
+     */
+    private double userSkew = 4.0;
+
+}
@@ -1,21 +1,84 @@
 package com.innov8.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.context.annotation.Configuration;
 import com.innov8.interceptor.RequestCorrelationInterceptor;
-import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
 
 @Configuration
-@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final RequestCorrelationInterceptor requestCorrelationInterceptor;
+    private final ThreadPoolTaskExecutor streamingTaskExecutor;
+    private final Duration asyncRequestTimeout;
+
+    public WebMvcConfig(RequestCorrelationInterceptor requestCorrelationInterceptor,
+                        @Qualifier("streamingTaskExecutor") ThreadPoolTaskExecutor streamingTaskExecutor,
+                        @Value("${innov8.web.async-request-timeout:30m}") Duration asyncRequestTimeout) {
+        this.requestCorrelationInterceptor = requestCorrelationInterceptor;
+        this.streamingTaskExecutor = streamingTaskExecutor;
+        this.asyncRequestTimeout = asyncRequestTimeout;
+    }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // Patterns are matched below the /api context path, so "/**" covers every /api/** request
         registry.addInterceptor(requestCorrelationInterceptor)
-                .addPathPatterns("/api/**");
+                .addPathPatterns("/**");
+        // The list endpoints answer in JSON, Smile or CBOR depending on Accept; shared caches must key on it
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/personnel", "/personnel/**", "/audit-logs", "/audit-logs/**");
+    }
+
+    /**
+     * Spring registers Smile and CBOR converters once the dataformats are on the classpath, after the JSON one,
+     * so JSON stays the default; they get mappers that write epoch-millis timestamps.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        boolean smile = false;
+        boolean cbor = false;
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2SmileHttpMessageConverter smileConverter) {
+                smileConverter.setObjectMapper(BinaryEncodings.smileMapper());
+                smile = true;
+            } else if (converter instanceof MappingJackson2CborHttpMessageConverter cborConverter) {
+                cborConverter.setObjectMapper(BinaryEncodings.cborMapper());
+                cbor = true;
+            }
+        }
+        if (!smile) {
+            converters.add(new MappingJackson2SmileHttpMessageConverter(BinaryEncodings.smileMapper()));
+        }
+        if (!cbor) {
+            converters.add(new MappingJackson2CborHttpMessageConverter(BinaryEncodings.cborMapper()));
+        }
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingTaskExecutor);
+        // Large exports legitimately stream for minutes
+        configurer.setDefaultTimeout(asyncRequestTimeout.toMillis());
     }
 
 }
@@ -4,9 +4,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.slf4j.MDC;
 
+import java.util.Map;
+
 /**
  * Admin controller for testing and simulation purposes.
  * IMPORTANT: This should ONLY be exposed in development/staging environments!
@@ -34,4 +37,20 @@ public class AdminController {
         throw new RuntimeException("Simulated Critical Failure: This is a test error for Datadog alerting and error tracking verification.");
     }
 
+    /**
+     * Blocks the request thread for the given time, standing in for a slow downstream call. Used to compare how
+     * many concurrent blocking requests platform and virtual threads can hold.
+     */
+    @GetMapping("/simulate-latency")
+    public Map<String, Object> simulateLatency(@RequestParam(defaultValue = "100") long millis) throws InterruptedException {
+        if (millis < 0 || millis > 10_000) {
+            throw new IllegalArgumentException("millis must be between 0 and 10000");
+        }
+        Thread.sleep(millis);
+        return Map.of(
+                "sleptMillis", millis,
+                "thread", Thread.currentThread().toString(),
+                "virtual", Thread.currentThread().isVirtual());
+    }
+
 }
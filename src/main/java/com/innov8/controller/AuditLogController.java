@@ -1,129 +1,274 @@
 package com.innov8.controller;
 
-import com.innov8.dto.AuditLogDTO;
+import com.innov8.analytics.AuditStatsAggregator;
+import com.innov8.dto.AuditLogCursor;
+import com.innov8.dto.AuditLogPage;
+import com.innov8.dto.AuditRollup;
+import com.innov8.dto.AuditStats;
+import com.innov8.repository.AuditRollupRepository;
+import com.innov8.logging.MdcScope;
+import com.innov8.service.AuditLogExportService;
 import com.innov8.service.AuditLogService;
+import com.innov8.service.DataVersionTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.MDC;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * Every listing is keyset-paginated: pass the previous response's {@code next} value as {@code cursor}
+ * to fetch the following page. Listings are also conditional GETs validated by the audit change counter,
+ * which moves whenever the writer commits a batch.
+ */
 @RestController
 @RequestMapping("/audit-logs")
 @RequiredArgsConstructor
 @Slf4j
 public class AuditLogController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final AuditLogService auditLogService;
+    private final AuditLogExportService auditLogExportService;
+    private final DataVersionTracker dataVersionTracker;
 
     @GetMapping
-    public ResponseEntity<List<AuditLogDTO>> getAllAuditLogs() {
-        MDC.put("endpoint", "GET /audit-logs");
-        MDC.put("action", "RETRIEVE_AUDIT_LOGS");
-        
-        try {
-            // Get recent 100 logs - can be paginated later
-            List<AuditLogDTO> logs = auditLogService.getActivityByDateRange(
-                    LocalDateTime.now().minusDays(7), 
-                    LocalDateTime.now())
-                    .stream()
-                    .limit(100)
-                    .map(AuditLogDTO::from)
-                    .collect(Collectors.toList());
+    public ResponseEntity<AuditLogPage> getAllAuditLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            WebRequest webRequest) {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "GET /audit-logs")
+                .put("action", "RETRIEVE_AUDIT_LOGS")) {
+            if (notModified(webRequest)) {
+                return null;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            int pageSize = pageSize(limit);
+            AuditLogPage page = AuditLogPage.of(auditLogService.getActivityByDateRange(
+                    now.minusDays(7), now, AuditLogCursor.decode(cursor), pageSize), pageSize);
             
-            log.info("Retrieved {} audit logs", logs.size());
-            return ResponseEntity.ok(logs);
-        } finally {
-            MDC.clear();
+            log.info("Retrieved {} audit logs", page.getItems().size());
+            return ResponseEntity.ok(page);
         }
     }
 
     @GetMapping("/user/{username}")
-    public ResponseEntity<List<AuditLogDTO>> getUserActivity(@PathVariable String username) {
-        MDC.put("endpoint", "GET /audit-logs/user/{username}");
-        MDC.put("action", "RETRIEVE_USER_AUDIT");
-        MDC.put("username", username);
-        
-        try {
-            List<AuditLogDTO> logs = auditLogService.getUserActivity(username)
-                    .stream()
-                    .limit(100)
-                    .map(AuditLogDTO::from)
-                    .collect(Collectors.toList());
+    public ResponseEntity<AuditLogPage> getUserActivity(
+            @PathVariable String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            WebRequest webRequest) {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "GET /audit-logs/user/{username}")
+                .put("action", "RETRIEVE_USER_AUDIT")
+                .put("username", username)) {
+            if (notModified(webRequest)) {
+                return null;
+            }
+            int pageSize = pageSize(limit);
+            AuditLogPage page = AuditLogPage.of(auditLogService.getUserActivity(
+                    username, AuditLogCursor.decode(cursor), pageSize), pageSize);
             
-            log.info("Retrieved {} audit logs for user: {}", logs.size(), username);
-            return ResponseEntity.ok(logs);
-        } finally {
-            MDC.clear();
+            log.info("Retrieved {} audit logs for user: {}", page.getItems().size(), username);
+            return ResponseEntity.ok(page);
         }
     }
 
     @GetMapping("/action/{action}")
-    public ResponseEntity<List<AuditLogDTO>> getActivityByAction(@PathVariable String action) {
-        MDC.put("endpoint", "GET /audit-logs/action/{action}");
-        MDC.put("action", "RETRIEVE_ACTION_AUDIT");
-        MDC.put("actionType", action);
-        
-        try {
-            List<AuditLogDTO> logs = auditLogService.getActivityByAction(action)
-                    .stream()
-                    .limit(100)
-                    .map(AuditLogDTO::from)
-                    .collect(Collectors.toList());
+    public ResponseEntity<AuditLogPage> getActivityByAction(
+            @PathVariable String action,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            WebRequest webRequest) {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "GET /audit-logs/action/{action}")
+                .put("action", "RETRIEVE_ACTION_AUDIT")
+                .put("actionType", action)) {
+            if (notModified(webRequest)) {
+                return null;
+            }
+            int pageSize = pageSize(limit);
+            AuditLogPage page = AuditLogPage.of(auditLogService.getActivityByAction(
+                    action, AuditLogCursor.decode(cursor), pageSize), pageSize);
             
-            log.info("Retrieved {} audit logs for action: {}", logs.size(), action);
-            return ResponseEntity.ok(logs);
-        } finally {
-            MDC.clear();
+            log.info("Retrieved {} audit logs for action: {}", page.getItems().size(), action);
+            return ResponseEntity.ok(page);
         }
     }
 
     @GetMapping("/entity/{entityType}/{entityId}")
-    public ResponseEntity<List<AuditLogDTO>> getEntityAuditTrail(
+    public ResponseEntity<AuditLogPage> getEntityAuditTrail(
             @PathVariable String entityType, 
-            @PathVariable Long entityId) {
-        MDC.put("endpoint", "GET /audit-logs/entity/{entityType}/{entityId}");
-        MDC.put("action", "RETRIEVE_ENTITY_AUDIT_TRAIL");
-        MDC.put("entityType", entityType);
-        MDC.put("entityId", String.valueOf(entityId));
-        
-        try {
-            List<AuditLogDTO> logs = auditLogService.getEntityAuditTrail(entityType, entityId)
-                    .stream()
-                    .map(AuditLogDTO::from)
-                    .collect(Collectors.toList());
+            @PathVariable Long entityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            WebRequest webRequest) {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "GET /audit-logs/entity/{entityType}/{entityId}")
+                .put("action", "RETRIEVE_ENTITY_AUDIT_TRAIL")
+                .put("entityType", entityType)
+                .put("entityId", String.valueOf(entityId))) {
+            if (notModified(webRequest)) {
+                return null;
+            }
+            int pageSize = pageSize(limit);
+            AuditLogPage page = AuditLogPage.of(auditLogService.getEntityAuditTrail(
+                    entityType, entityId, AuditLogCursor.decode(cursor), pageSize), pageSize);
             
-            log.info("Retrieved {} audit logs for entity: {} ID: {}", logs.size(), entityType, entityId);
-            return ResponseEntity.ok(logs);
-        } finally {
-            MDC.clear();
+            log.info("Retrieved {} audit logs for entity: {} ID: {}", page.getItems().size(), entityType, entityId);
+            return ResponseEntity.ok(page);
         }
     }
 
     @GetMapping("/range")
-    public ResponseEntity<List<AuditLogDTO>> getActivityByDateRange(
+    public ResponseEntity<AuditLogPage> getActivityByDateRange(
             @RequestParam LocalDateTime startTime,
-            @RequestParam LocalDateTime endTime) {
-        MDC.put("endpoint", "GET /audit-logs/range");
-        MDC.put("action", "RETRIEVE_RANGE_AUDIT");
-        MDC.put("startTime", startTime.toString());
-        MDC.put("endTime", endTime.toString());
-        
-        try {
-            List<AuditLogDTO> logs = auditLogService.getActivityByDateRange(startTime, endTime)
-                    .stream()
-                    .limit(100)
-                    .map(AuditLogDTO::from)
-                    .collect(Collectors.toList());
+            @RequestParam LocalDateTime endTime,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            WebRequest webRequest) {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "GET /audit-logs/range")
+                .put("action", "RETRIEVE_RANGE_AUDIT")
+                .put("startTime", startTime.toString())
+                .put("endTime", endTime.toString())) {
+            if (notModified(webRequest)) {
+                return null;
+            }
+            int pageSize = pageSize(limit);
+            AuditLogPage page = AuditLogPage.of(auditLogService.getActivityByDateRange(
+                    startTime, endTime, AuditLogCursor.decode(cursor), pageSize), pageSize);
             
-            log.info("Retrieved {} audit logs for date range: {} to {}", logs.size(), startTime, endTime);
-            return ResponseEntity.ok(logs);
-        } finally {
-            MDC.clear();
+            log.info("Retrieved {} audit logs for date range: {} to {}", page.getItems().size(), startTime, endTime);
+            return ResponseEntity.ok(page);
+        }
+    }
+
+    /**
+     * Live statistics for every window (5m, 1h, 24h): top users and actions, error rates by status class and
+     * latency percentiles. Served from incrementally maintained buckets, not from the table.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, AuditStats>> getStats(@RequestParam(defaultValue = "10") int top) {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "GET /audit-logs/stats")
+                .put("action", "RETRIEVE_AUDIT_STATS")) {
+            Map<String, AuditStats> stats = new LinkedHashMap<>();
+            for (AuditStatsAggregator.Window window : AuditStatsAggregator.Window.values()) {
+                stats.put(window.label(), auditLogService.getStats(window, top));
+            }
+            log.info("Retrieved audit stats for {} windows", stats.size());
+            return ResponseEntity.ok(stats);
+        }
+    }
+
+    @GetMapping("/stats/{window}")
+    public ResponseEntity<AuditStats> getStats(
+            @PathVariable String window,
+            @RequestParam(defaultValue = "10") int top) {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "GET /audit-logs/stats/{window}")
+                .put("action", "RETRIEVE_AUDIT_STATS")
+                .put("window", window)) {
+            AuditStats stats = auditLogService.getStats(AuditStatsAggregator.Window.parse(window), top);
+            log.info("Retrieved audit stats for window {}: {} events", window, stats.getEvents());
+            return ResponseEntity.ok(stats);
+        }
+    }
+
+    /**
+     * Dashboard aggregates from the hourly rollup: events, 4xx/5xx counts and latency per action, user or hour.
+     * Reads one row per (hour, action, user) at most, never the raw events, and covers days already past retention.
+     */
+    @GetMapping("/rollups")
+    public ResponseEntity<List<AuditRollup>> getRollups(
+            @RequestParam LocalDateTime startTime,
+            @RequestParam(required = false) LocalDateTime endTime,
+            @RequestParam(defaultValue = "action") String groupBy,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String username,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            WebRequest webRequest) {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "GET /audit-logs/rollups")
+                .put("action", "RETRIEVE_AUDIT_ROLLUPS")
+                .put("groupBy", groupBy)) {
+            if (notModified(webRequest)) {
+                return null;
+            }
+            AuditRollupRepository.GroupBy grouping = AuditRollupRepository.GroupBy.valueOf(groupBy.toUpperCase(Locale.ROOT));
+            List<AuditRollup> rollups = auditLogService.getRollups(startTime,
+                    endTime != null ? endTime : LocalDateTime.now(), grouping, action, username, pageSize(limit));
+
+            log.info("Retrieved {} audit rollups grouped by {}", rollups.size(), grouping);
+            return ResponseEntity.ok(rollups);
+        }
+    }
+
+    /**
+     * Full extract as NDJSON or CSV. The body is produced on the streaming executor from a database cursor,
+     * so the Tomcat thread is released immediately and heap use does not grow with the size of the range.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestParam(required = false) LocalDateTime startTime,
+            @RequestParam(required = false) LocalDateTime endTime,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "GET /audit-logs/export")
+                .put("action", "EXPORT_AUDIT_LOGS")) {
+            AuditLogExportService.Format exportFormat = AuditLogExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+            LocalDateTime from = startTime != null ? startTime : LocalDateTime.of(1970, 1, 1, 0, 0);
+            LocalDateTime to = endTime != null ? endTime : LocalDateTime.now();
+
+            StreamingResponseBody body = out -> {
+                OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+                auditLogExportService.export(from, to, exportFormat, target);
+                if (target instanceof GZIPOutputStream gzipStream) {
+                    gzipStream.finish();
+                }
+                target.flush();
+            };
+
+            log.info("Starting {} audit export for {} to {}", exportFormat, from, to);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename("audit-logs." + exportFormat.getExtension() + (gzip ? ".gz" : ""))
+                            .build().toString());
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(body);
         }
     }
+
+    private boolean notModified(WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersionTracker.auditLogsEtag(), dataVersionTracker.auditLogsLastModified())) {
+            MDC.put("status", "NOT_MODIFIED");
+            return true;
+        }
+        return false;
+    }
+
+    private static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
 }
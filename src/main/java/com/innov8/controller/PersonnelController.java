@@ -1,17 +1,28 @@
 package com.innov8.controller;
 
+import com.innov8.dto.BulkImportResult;
 import com.innov8.dto.PersonnelDTO;
+import com.innov8.dto.PersonnelSearchResult;
+import com.innov8.dto.PersonnelStats;
+import com.innov8.logging.MdcScope;
 import com.innov8.model.Personnel;
+import com.innov8.model.PersonnelStatus;
+import com.innov8.service.DataVersionTracker;
+import com.innov8.service.PersonnelImportService;
 import com.innov8.service.PersonnelService;
+import com.innov8.service.PersonnelStatsTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.slf4j.MDC;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/personnel")
@@ -20,87 +31,153 @@ import java.util.stream.Collectors;
 public class PersonnelController {
 
     private final PersonnelService personnelService;
+    private final PersonnelImportService personnelImportService;
+    private final DataVersionTracker dataVersionTracker;
+    private final PersonnelStatsTracker statsTracker;
 
+    /**
+     * Conditional GET: the ETag comes from an in-memory change counter, so a matching If-None-Match
+     * is answered with 304 before the directory is loaded or serialized.
+     */
     @GetMapping
-    public ResponseEntity<List<PersonnelDTO>> getAllPersonnel() {
-        MDC.put("endpoint", "GET /personnel");
-        try {
-            List<PersonnelDTO> personnel = personnelService.getAllPersonnel()
-                    .stream()
-                    .map(PersonnelDTO::from)
-                    .collect(Collectors.toList());
-            
-            MDC.put("returnCount", String.valueOf(personnel.size()));
+    public ResponseEntity<List<PersonnelDTO>> getAllPersonnel(WebRequest webRequest) {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "GET /personnel")) {
+            if (webRequest.checkNotModified(dataVersionTracker.personnelEtag(), dataVersionTracker.personnelLastModified())) {
+                mdc.put("status", "NOT_MODIFIED");
+                return null;
+            }
+
+            List<PersonnelDTO> personnel = personnelService.getAllPersonnel();
+
+            mdc.put("returnCount", String.valueOf(personnel.size()));
             return ResponseEntity.ok(personnel);
-        } finally {
-            MDC.clear();
+        }
+    }
+
+    /**
+     * Headcounts by status, department and role from in-memory counters; no query, whatever the directory size.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<PersonnelStats> getStats() {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "GET /personnel/stats")) {
+            return ResponseEntity.ok(statsTracker.snapshot());
+        }
+    }
+
+    /**
+     * Ranked, paginated search over name, email, role and department; tolerates prefixes and small typos.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PersonnelSearchResult> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "GET /personnel/search")) {
+            PersonnelSearchResult result = personnelService.search(q, offset, limit);
+            mdc.put("returnCount", String.valueOf(result.getItems().size()));
+            return ResponseEntity.ok(result);
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PersonnelDTO> getPersonnelById(@PathVariable Long id) {
-        MDC.put("endpoint", "GET /personnel/{id}");
-        MDC.put("personnelId", String.valueOf(id));
-        
-        try {
+    public ResponseEntity<PersonnelDTO> getPersonnelById(@PathVariable Long id, WebRequest webRequest) {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "GET /personnel/{id}")
+                .put("personnelId", String.valueOf(id))) {
+            // Version-only lookup first; the full record is only read when the client's copy is stale
+            Optional<Long> version = personnelService.getPersonnelVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (webRequest.checkNotModified(PersonnelDTO.etag(id, version.get()))) {
+                mdc.put("status", "NOT_MODIFIED");
+                return null;
+            }
+
             return personnelService.getPersonnelById(id)
-                    .map(p -> ResponseEntity.ok(PersonnelDTO.from(p)))
+                    .map(ResponseEntity::ok)
                     .orElseGet(() -> ResponseEntity.notFound().build());
-        } finally {
-            MDC.clear();
         }
     }
 
     @PostMapping
     public ResponseEntity<PersonnelDTO> createPersonnel(@RequestBody PersonnelDTO dto) {
-        MDC.put("endpoint", "POST /personnel");
-        MDC.put("action", "CREATE");
-        
-        try {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "POST /personnel")
+                .put("action", "CREATE")) {
             Personnel personnel = new Personnel();
             personnel.setName(dto.getName());
             personnel.setEmail(dto.getEmail());
             personnel.setRole(dto.getRole());
             personnel.setDepartment(dto.getDepartment());
+            personnel.setStatus(dto.getStatus() != null ? PersonnelStatus.valueOf(dto.getStatus()) : PersonnelStatus.ACTIVE);
 
             Personnel created = personnelService.createPersonnel(personnel);
-            return ResponseEntity.status(HttpStatus.CREATED).body(PersonnelDTO.from(created));
-        } finally {
-            MDC.clear();
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .eTag(PersonnelDTO.etag(created.getId(), created.getVersion()))
+                    .body(PersonnelDTO.from(created));
         }
     }
 
+    /**
+     * Optimistically locked: If-Match takes the record's strong ETag (or a list of tags, or {@code *}) and anything
+     * that does not match it, a weak or another record's tag included, fails with 412. A stale version in the body,
+     * or a modification landing between the check and the commit, is rejected with 409. Either way it is not
+     * silently overwritten.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<PersonnelDTO> updatePersonnel(@PathVariable Long id, @RequestBody PersonnelDTO dto) {
-        MDC.put("endpoint", "PUT /personnel/{id}");
-        MDC.put("action", "UPDATE");
-        MDC.put("personnelId", String.valueOf(id));
-        
-        try {
+    public ResponseEntity<PersonnelDTO> updatePersonnel(@PathVariable Long id, @RequestBody PersonnelDTO dto,
+                                                        @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "PUT /personnel/{id}")
+                .put("action", "UPDATE")
+                .put("personnelId", String.valueOf(id))) {
             Personnel personnel = new Personnel();
             personnel.setName(dto.getName());
             personnel.setEmail(dto.getEmail());
             personnel.setRole(dto.getRole());
             personnel.setDepartment(dto.getDepartment());
+            if (dto.getStatus() != null) {
+                personnel.setStatus(PersonnelStatus.valueOf(dto.getStatus()));
+            }
+
+            Personnel updated = personnelService.updatePersonnel(id, personnel, ifMatch, dto.getVersion());
+            return ResponseEntity.ok()
+                    .eTag(PersonnelDTO.etag(updated.getId(), updated.getVersion()))
+                    .body(PersonnelDTO.from(updated));
+        }
+    }
 
-            Personnel updated = personnelService.updatePersonnel(id, personnel);
-            return ResponseEntity.ok(PersonnelDTO.from(updated));
-        } finally {
-            MDC.clear();
+    /**
+     * Bulk upsert by email from a streamed NDJSON ({@code application/x-ndjson}) or CSV ({@code text/csv}) body.
+     * Returns counts per outcome and the failed rows; invalid rows are reported without aborting the rest of the import.
+     */
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<BulkImportResult> bulkImport(InputStream body,
+                                                       @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "POST /personnel/bulk")
+                .put("action", "BULK_IMPORT")) {
+            PersonnelImportService.Format format = contentType.startsWith("text/csv")
+                    ? PersonnelImportService.Format.CSV
+                    : PersonnelImportService.Format.NDJSON;
+            BulkImportResult result = personnelImportService.importPersonnel(body, format);
+            mdc.put("returnCount", String.valueOf(result.getCreated() + result.getUpdated() + result.getUnchanged() + result.getFailed()));
+            return ResponseEntity.ok(result);
         }
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePersonnel(@PathVariable Long id) {
-        MDC.put("endpoint", "DELETE /personnel/{id}");
-        MDC.put("action", "DELETE");
-        MDC.put("personnelId", String.valueOf(id));
-        
-        try {
+        try (MdcScope mdc = MdcScope.open()
+                .put("endpoint", "DELETE /personnel/{id}")
+                .put("action", "DELETE")
+                .put("personnelId", String.valueOf(id))) {
             personnelService.deletePersonnel(id);
             return ResponseEntity.noContent().build();
-        } finally {
-            MDC.clear();
         }
     }
 
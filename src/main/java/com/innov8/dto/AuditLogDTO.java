@@ -22,6 +22,7 @@ public class AuditLogDTO {
     private String details;
     private Integer responseStatus;
     private Long executionTime;
+    private Long executionTimeNanos;
     private LocalDateTime timestamp;
     private String userAgent;
 
@@ -36,6 +37,7 @@ public class AuditLogDTO {
                 .details(auditLog.getDetails())
                 .responseStatus(auditLog.getResponseStatus())
                 .executionTime(auditLog.getExecutionTime())
+                .executionTimeNanos(auditLog.getExecutionTimeNanos())
                 .timestamp(auditLog.getTimestamp())
                 .userAgent(auditLog.getUserAgent())
                 .build();
@@ -0,0 +1,41 @@
+package com.innov8.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogPage {
+
+    private List<AuditLogDTO> items;
+
+    /**
+     * Opaque cursor for the next page, or null when this is the last page.
+     */
+    private String next;
+
+    /**
+     * Builds a page from a query that fetched one row more than {@code limit}; that extra row only signals
+     * that another page exists and is not returned.
+     */
+    public static AuditLogPage of(List<AuditLogDTO> rows, int limit) {
+        boolean hasMore = rows.size() > limit;
+        List<AuditLogDTO> page = hasMore ? rows.subList(0, limit) : rows;
+        String next = null;
+        if (hasMore) {
+            AuditLogDTO last = page.get(page.size() - 1);
+            next = new AuditLogCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return AuditLogPage.builder()
+                .items(page)
+                .next(next)
+                .build();
+    }
+
+}
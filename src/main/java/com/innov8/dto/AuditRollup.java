@@ -0,0 +1,25 @@
+package com.innov8.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregated audit activity for one group (an action, a user or an hour) over a time range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditRollup {
+
+    private String key;
+    private long events;
+    private long clientErrors; // 4xx responses
+    private long serverErrors; // 5xx responses
+    private Double avgLatencyMillis; // null when no event in the group recorded a latency
+    private Double minLatencyMillis;
+    private Double maxLatencyMillis;
+
+}
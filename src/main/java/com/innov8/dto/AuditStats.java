@@ -0,0 +1,45 @@
+package com.innov8.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class AuditStats {
+
+    private String window;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long events;
+    /** Share of events answered with a 4xx or 5xx status. */
+    private double errorRate;
+    /** Keyed "2xx".."5xx", plus "unknown" for events without a status. */
+    private Map<String, StatusClass> statusClasses;
+    private Latency latency;
+    /** Heaviest first; counts of keys outside the heavy hitters are lower bounds. */
+    private List<Ranked> topUsers;
+    private List<Ranked> topActions;
+    /** False while the startup backfill is still loading the window from storage. */
+    private boolean complete;
+    private LocalDateTime computedAt;
+
+    public record StatusClass(long count, double rate) {
+    }
+
+    /** Milliseconds; null when the window has no events with a recorded latency. */
+    public record Latency(long samples, Double mean, Double p50, Double p90, Double p95, Double p99, Double p999,
+                          Double max) {
+    }
+
+    public record Ranked(String key, long count) {
+    }
+
+}
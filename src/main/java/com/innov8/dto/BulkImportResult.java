@@ -0,0 +1,36 @@
+package com.innov8.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkImportResult {
+
+    public enum Outcome { CREATED, UPDATED, UNCHANGED, FAILED }
+
+    private long created;
+    private long updated;
+    private long unchanged;
+    private long failed;
+    private long elapsedMillis;
+    /** The first rows that failed, in upload order; {@code failed} counts all of them. */
+    private List<RowFailure> failures;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowFailure {
+        /** 1-based line number in the uploaded body. */
+        private long line;
+        private String email;
+        private String error;
+    }
+
+}
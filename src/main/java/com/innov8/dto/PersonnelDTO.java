@@ -1,6 +1,7 @@
 package com.innov8.dto;
 
 import com.innov8.model.Personnel;
+import com.innov8.model.PersonnelStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,6 +22,16 @@ public class PersonnelDTO {
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
+
+    /**
+     * Constructor expression target for the read-only queries in PersonnelRepository.
+     */
+    public PersonnelDTO(Long id, String name, String email, String role, String department, PersonnelStatus status,
+                        LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, name, email, role, department, status != null ? status.toString() : null, createdAt, updatedAt,
+                version);
+    }
 
     public static PersonnelDTO from(Personnel personnel) {
         return PersonnelDTO.builder()
@@ -32,7 +43,31 @@ public class PersonnelDTO {
                 .status(personnel.getStatus() != null ? personnel.getStatus().toString() : null)
                 .createdAt(personnel.getCreatedAt())
                 .updatedAt(personnel.getUpdatedAt())
+                .version(personnel.getVersion())
                 .build();
     }
 
+    /**
+     * Strong validator for a single record; changes whenever its version does.
+     */
+    public static String etag(Long id, Long version) {
+        return "\"" + id + "-v" + version + "\"";
+    }
+
+    /**
+     * If-Match evaluation (RFC 9110 13.1.1) against the current record: {@code *} matches any existing record,
+     * otherwise one of the listed tags must equal its strong validator. Weak tags never match, and neither does a
+     * tag issued for another record.
+     */
+    public static boolean matchesIfMatch(String ifMatch, Long id, Long version) {
+        String current = etag(id, version);
+        for (String tag : ifMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*") || candidate.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -0,0 +1,29 @@
+package com.innov8.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PersonnelSearchResult {
+
+    private String query;
+    /** Every match, not just this page. */
+    private long total;
+    private int offset;
+    private int limit;
+    /** Best match first; ties are broken by id. */
+    private List<Hit> items;
+    private long tookMicros;
+
+    public record Hit(Long id, String name, String email, String role, String department, String status,
+                      double score) {
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.innov8.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PersonnelStats {
+
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byDepartment;
+    private Map<String, Long> byRole;
+    /** Last time the counters were checked against the table; null before the first reconciliation. */
+    private LocalDateTime reconciledAt;
+
+}
@@ -0,0 +1,12 @@
+package com.innov8.exception;
+
+/**
+ * A conditional request's precondition (If-Match) no longer holds; answered with 412 Precondition Failed.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+}
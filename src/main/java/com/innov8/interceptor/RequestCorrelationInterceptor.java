@@ -1,30 +1,68 @@
 package com.innov8.interceptor;
 
-import org.springframework.web.servlet.HandlerInterceptor;
-import org.slf4j.MDC;
+import com.innov8.logging.CorrelationIds;
+import com.innov8.logging.MdcScope;
+import com.innov8.service.AuditLogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.stereotype.Component;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Establishes the request's logging context (correlationId, userId, action) and audits the request on completion.
+ * The context lives in an isolated {@link MdcScope} that is closed when the request, or the current dispatch of an
+ * async request, leaves the thread, so nothing set during the request survives into the thread's next request.
+ */
 @Component
-public class RequestCorrelationInterceptor implements HandlerInterceptor {
+@Slf4j
+public class RequestCorrelationInterceptor implements AsyncHandlerInterceptor {
 
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
     private static final String CORRELATION_ID_MDC_KEY = "correlationId";
+    private static final String START_NANOS_ATTRIBUTE = RequestCorrelationInterceptor.class.getName() + ".startNanos";
+    private static final String CORRELATION_ID_ATTRIBUTE = RequestCorrelationInterceptor.class.getName() + ".correlationId";
+    private static final String MDC_SCOPE_ATTRIBUTE = RequestCorrelationInterceptor.class.getName() + ".mdcScope";
+    private static final String ANONYMOUS = "ANONYMOUS";
+
+    private final AuditLogService auditLogService;
+    private final boolean auditRequests;
+    private final Map<Class<?>, String> entityTypes = new ConcurrentHashMap<>();
+
+    public RequestCorrelationInterceptor(AuditLogService auditLogService,
+                                         @Value("${innov8.audit.requests.enabled:true}") boolean auditRequests) {
+        this.auditLogService = auditLogService;
+        this.auditRequests = auditRequests;
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        String correlationId = request.getHeader(CORRELATION_ID_HEADER);
-        
-        if (correlationId == null || correlationId.isEmpty()) {
-            correlationId = UUID.randomUUID().toString();
+        // Async dispatches re-enter preHandle; keep the original start so the audit covers the whole request
+        if (request.getAttribute(START_NANOS_ATTRIBUTE) == null) {
+            request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
+        }
+
+        // Async dispatches also keep the id chosen on the first dispatch
+        String correlationId = (String) request.getAttribute(CORRELATION_ID_ATTRIBUTE);
+        if (correlationId == null) {
+            correlationId = request.getHeader(CORRELATION_ID_HEADER);
+            if (correlationId == null || correlationId.isEmpty()) {
+                correlationId = CorrelationIds.next();
+            }
+            request.setAttribute(CORRELATION_ID_ATTRIBUTE, correlationId);
         }
 
-        // Add to MDC for structured logging
-        MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
-        MDC.put("userId", request.getHeader("X-User-ID") != null ? request.getHeader("X-User-ID") : "ANONYMOUS");
-        MDC.put("action", request.getMethod() + " " + request.getRequestURI());
+        String userId = request.getHeader("X-User-ID");
+        MdcScope scope = MdcScope.isolated()
+                .put(CORRELATION_ID_MDC_KEY, correlationId)
+                .put("userId", userId != null ? userId : ANONYMOUS)
+                .put("action", request.getMethod() + " " + request.getRequestURI());
+        request.setAttribute(MDC_SCOPE_ATTRIBUTE, scope);
 
         response.setHeader(CORRELATION_ID_HEADER, correlationId);
 
@@ -33,7 +71,106 @@ public class RequestCorrelationInterceptor implements HandlerInterceptor {
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
-        MDC.clear();
+        try {
+            if (auditRequests) {
+                audit(request, response, handler, ex);
+            }
+        } catch (Exception e) {
+            // Auditing must never turn a completed request into a failed one
+            log.warn("Failed to audit request {} {}", request.getMethod(), request.getRequestURI(), e);
+        } finally {
+            closeScope(request);
+        }
+    }
+
+    /**
+     * The first dispatch of an async request ends here rather than in afterCompletion, so the Tomcat thread's
+     * context is released here. The async dispatch that completes the request opens its own.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        closeScope(request);
+    }
+
+    private static void closeScope(HttpServletRequest request) {
+        if (request.getAttribute(MDC_SCOPE_ATTRIBUTE) instanceof MdcScope scope) {
+            request.removeAttribute(MDC_SCOPE_ATTRIBUTE);
+            scope.close();
+        }
+    }
+
+    private void audit(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object startNanos = request.getAttribute(START_NANOS_ATTRIBUTE);
+        long executionTimeNanos = startNanos instanceof Long start ? System.nanoTime() - start : 0L;
+
+        int status = response.getStatus();
+        if (ex != null && status < 400) {
+            status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String path = pattern != null ? pattern.toString() : request.getRequestURI();
+
+        String userId = request.getHeader("X-User-ID");
+
+        auditLogService.recordRequest(
+                actionFor(request.getMethod()),
+                entityTypeFor(handler),
+                entityIdFor(request),
+                userId != null && !userId.isEmpty() ? userId : ANONYMOUS,
+                clientIp(request),
+                status,
+                executionTimeNanos,
+                request.getMethod() + " " + path,
+                request.getHeader("User-Agent"));
+    }
+
+    private static String actionFor(String method) {
+        return switch (method) {
+            case "GET", "HEAD" -> "READ";
+            case "POST" -> "CREATE";
+            case "PUT", "PATCH" -> "UPDATE";
+            case "DELETE" -> "DELETE";
+            default -> method;
+        };
+    }
+
+    /**
+     * PersonnelController -> Personnel, AuditLogController -> AuditLog.
+     */
+    private String entityTypeFor(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return "Unknown";
+        }
+        return entityTypes.computeIfAbsent(handlerMethod.getBeanType(), type -> {
+            String name = type.getSimpleName();
+            return name.endsWith("Controller") ? name.substring(0, name.length() - "Controller".length()) : name;
+        });
+    }
+
+    private static Long entityIdFor(HttpServletRequest request) {
+        Object attribute = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (!(attribute instanceof Map<?, ?> variables)) {
+            return null;
+        }
+        Object id = variables.containsKey("id") ? variables.get("id") : variables.get("entityId");
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(id.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String clientIp(HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isEmpty()) {
+            int comma = forwardedFor.indexOf(',');
+            return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+        }
+        return request.getRemoteAddr();
     }
 
 }
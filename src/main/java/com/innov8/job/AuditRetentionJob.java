@@ -0,0 +1,70 @@
+package com.innov8.job;
+
+import com.innov8.config.AuditStorageProperties;
+import com.innov8.logging.CorrelationIds;
+import com.innov8.logging.MdcScope;
+import com.innov8.repository.AuditLogPartitions;
+import com.innov8.repository.AuditRollupRepository;
+import com.innov8.service.DataVersionTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditRetentionJob {
+
+    private final AuditStorageProperties properties;
+    private final AuditLogPartitions partitions;
+    private final AuditRollupRepository rollups;
+    private final DataVersionTracker dataVersionTracker;
+
+    /**
+     * Runs hourly by default: creates the coming days' partitions ahead of the writer, drops expired day
+     * partitions whole and trims the hourly rollup to its own, longer retention.
+     */
+    @Scheduled(fixedRateString = "${innov8.audit.storage.maintenance-interval:PT1H}",
+            initialDelayString = "${innov8.audit.storage.maintenance-interval:PT1H}")
+    public void enforceRetention() {
+        MdcScope mdc = MdcScope.isolated()
+                .put("jobId", CorrelationIds.next())
+                .put("action", "AUDIT_RETENTION");
+        try {
+            LocalDate today = LocalDate.now();
+            partitions.ensureRange(today, today.plusDays(properties.getPrecreateDays()));
+
+            LocalDateTime now = LocalDateTime.now();
+            if (isEnabled(properties.getRetention())) {
+                List<LocalDate> dropped = partitions.dropBefore(now.minus(properties.getRetention()).toLocalDate());
+                if (!dropped.isEmpty()) {
+                    dataVersionTracker.auditLogsChanged();
+                    log.info("Dropped {} expired audit partitions: {}", dropped.size(), dropped);
+                }
+            }
+            if (isEnabled(properties.getRollupRetention())) {
+                int deleted = rollups.deleteBefore(now.minus(properties.getRollupRetention()));
+                if (deleted > 0) {
+                    log.info("Deleted {} expired hourly audit rollups", deleted);
+                }
+            }
+            mdc.put("status", "COMPLETED");
+        } catch (Exception e) {
+            mdc.put("status", "FAILED");
+            log.error("Audit retention failed", e);
+        } finally {
+            mdc.close();
+        }
+    }
+
+    private static boolean isEnabled(Duration retention) {
+        return retention != null && !retention.isZero() && !retention.isNegative();
+    }
+
+}
@@ -1,19 +1,21 @@
 package com.innov8.job;
 
-import com.innov8.service.PersonnelService;
+import com.innov8.logging.CorrelationIds;
+import com.innov8.logging.MdcScope;
+import com.innov8.model.PersonnelStatus;
+import com.innov8.service.PersonnelStatsTracker;
 import com.innov8.service.SecurityAuditService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.slf4j.MDC;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class HealthCheckJob {
 
-    private final PersonnelService personnelService;
+    private final PersonnelStatsTracker statsTracker;
     private final SecurityAuditService securityAuditService;
 
     /**
@@ -23,34 +25,35 @@ public class HealthCheckJob {
     @Scheduled(fixedRate = 60000)
     public void healthCheckAndAudit() {
         long startTime = System.currentTimeMillis();
-        String jobId = java.util.UUID.randomUUID().toString();
+        String jobId = CorrelationIds.next();
 
-        MDC.put("jobId", jobId);
-        MDC.put("action", "HEALTH_CHECK");
+        // Isolated: scheduler threads are reused, so nothing the job or its callees put may outlive the run
+        MdcScope mdc = MdcScope.isolated()
+                .put("jobId", jobId)
+                .put("action", "HEALTH_CHECK");
 
         try {
-            // Check for inactive personnel
-            var inactivePersonnel = personnelService.getInactivePersonnel();
-            
-            MDC.put("status", "COMPLETED");
-            MDC.put("inactiveCount", String.valueOf(inactivePersonnel.size()));
-            MDC.put("executionTime", String.valueOf(System.currentTimeMillis() - startTime));
-
-            log.info("Health check completed. Inactive personnel count: {}", inactivePersonnel.size());
-
-            if (!inactivePersonnel.isEmpty()) {
-                log.warn("Found {} inactive personnel members during health check", inactivePersonnel.size());
-                inactivePersonnel.forEach(p -> log.debug("Inactive: {} - {}", p.getName(), p.getDepartment()));
+            // Check for inactive personnel: read from the maintained counters, no rows are loaded
+            long inactiveCount = statsTracker.count(PersonnelStatus.INACTIVE);
+
+            mdc.put("status", "COMPLETED")
+                    .put("inactiveCount", String.valueOf(inactiveCount))
+                    .put("executionTime", String.valueOf(System.currentTimeMillis() - startTime));
+
+            log.info("Health check completed. Inactive personnel count: {}", inactiveCount);
+
+            if (inactiveCount > 0) {
+                log.warn("Found {} inactive personnel members during health check", inactiveCount);
             }
 
             // Trigger deep security scan asynchronously
             securityAuditService.runDeepScan();
 
         } catch (Exception e) {
-            MDC.put("status", "FAILED");
+            mdc.put("status", "FAILED");
             log.error("Health check failed: {}", jobId, e);
         } finally {
-            MDC.clear();
+            mdc.close();
         }
     }
 
@@ -0,0 +1,39 @@
+package com.innov8.logging;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered correlation ids in the UUID version 7 layout (RFC 9562): 48 bits of Unix milliseconds, 12 bits of
+ * sub-millisecond precision, then 62 random bits. Ids sort by creation time in logs and indexes and stay valid
+ * UUIDs for anything downstream that parses them.
+ * <p>
+ * Unlike {@link UUID#randomUUID()}, which draws from a shared SecureRandom, the random bits come from
+ * {@link ThreadLocalRandom}, so concurrent requests never contend. Correlation ids are identifiers, not secrets,
+ * and do not need cryptographic randomness.
+ */
+public final class CorrelationIds {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_9562 = 0x8000_0000_0000_0000L;
+
+    private CorrelationIds() {
+    }
+
+    public static String next() {
+        return nextUuid().toString();
+    }
+
+    public static UUID nextUuid() {
+        Instant now = Instant.now();
+        long millis = now.getEpochSecond() * 1000 + now.getNano() / 1_000_000;
+        // Method 3 of RFC 9562 section 6.2: the fraction of the current millisecond, scaled to 12 bits
+        long subMillis = (now.getNano() % 1_000_000) * 4096L / 1_000_000;
+
+        long mostSignificant = (millis << 16) | VERSION_7 | subMillis;
+        long leastSignificant = (ThreadLocalRandom.current().nextLong() >>> 2) | VARIANT_RFC_9562;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.innov8.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import net.logstash.logback.appender.listener.AppenderListener;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts events the async appender in logback-spring.xml gave up on: its ring buffer was full, so the event was
+ * dropped instead of making the logging thread wait, or the appender was shutting down. Logback instantiates the
+ * listener before Spring starts, so the count is static; it is exported as {@code innov8.logging.dropped}.
+ */
+public class DroppedLogEvents implements AppenderListener<ILoggingEvent> {
+
+    private static final LongAdder DROPPED = new LongAdder();
+
+    @Override
+    public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+        DROPPED.increment();
+    }
+
+    public static long count() {
+        return DROPPED.sum();
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.innov8.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a configured fraction of the INFO and DEBUG events logged while an endpoint is being served, so the busiest
+ * reads do not dominate log volume. The decision is a hash of the request's correlationId, so a request's lines are
+ * kept or dropped together and a kept request can still be followed end to end.
+ * <p>
+ * WARN and ERROR, events carrying a throwable and anything logged outside an endpoint (jobs, startup) always pass.
+ * As a turbo filter it runs on the logging thread before the event is built, so a sampled-out call costs two MDC
+ * lookups and a hash, and nothing is formatted or queued.
+ */
+public class EndpointLogSampler extends TurboFilter {
+
+    private static final String ENDPOINT_MDC_KEY = "endpoint";
+    private static final String CORRELATION_ID_MDC_KEY = "correlationId";
+    /** Rates are applied as thresholds on a 16-bit hash. */
+    private static final int SCALE = 1 << 16;
+
+    private final int defaultThreshold;
+    private final Map<String, Integer> thresholds;
+    private final boolean sampling;
+    private final LongAdder sampledOut = new LongAdder();
+    private LoggerContext attachedTo;
+
+    /**
+     * @param defaultRate   fraction of events kept for endpoints without a rate of their own, 0 to 1
+     * @param endpointRates fractions keyed by the route template controllers put in the MDC ("GET /personnel/{id}")
+     */
+    public EndpointLogSampler(double defaultRate, Map<String, Double> endpointRates) {
+        this.defaultThreshold = threshold("default", defaultRate);
+        Map<String, Integer> byEndpoint = new HashMap<>();
+        endpointRates.forEach((endpoint, rate) -> byEndpoint.put(endpoint, threshold(endpoint, rate)));
+        this.thresholds = Map.copyOf(byEndpoint);
+        this.sampling = defaultThreshold < SCALE || thresholds.values().stream().anyMatch(t -> t < SCALE);
+        setName("endpoint-sampler");
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!sampling || level == null || level.levelInt >= Level.WARN_INT || t != null || endsWithThrowable(params)) {
+            return FilterReply.NEUTRAL;
+        }
+        // Below the logger's level the event is discarded anyway; leave it to the level check, uncounted
+        if (level.levelInt < logger.getEffectiveLevel().levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+        String endpoint = MDC.get(ENDPOINT_MDC_KEY);
+        if (endpoint == null) {
+            return FilterReply.NEUTRAL;
+        }
+        int threshold = thresholds.getOrDefault(endpoint, defaultThreshold);
+        if (threshold >= SCALE || bucket(MDC.get(CORRELATION_ID_MDC_KEY)) < threshold) {
+            return FilterReply.NEUTRAL;
+        }
+        // isInfoEnabled() and friends pass through here without a format; only count events actually suppressed
+        if (format != null) {
+            sampledOut.increment();
+        }
+        return FilterReply.DENY;
+    }
+
+    public void attach(LoggerContext context) {
+        setContext(context);
+        start();
+        context.addTurboFilter(this);
+        attachedTo = context;
+    }
+
+    public void detach() {
+        if (attachedTo != null) {
+            attachedTo.getTurboFilterList().remove(this);
+            attachedTo = null;
+        }
+        stop();
+    }
+
+    public long sampledOut() {
+        return sampledOut.sum();
+    }
+
+    private static int bucket(String correlationId) {
+        if (correlationId == null) {
+            return ThreadLocalRandom.current().nextInt(SCALE);
+        }
+        // String caches its hash; the finalizer step of MurmurHash3 spreads it over the low bits
+        int h = correlationId.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h & (SCALE - 1);
+    }
+
+    private static boolean endsWithThrowable(Object[] params) {
+        return params != null && params.length > 0 && params[params.length - 1] instanceof Throwable;
+    }
+
+    private static int threshold(String endpoint, double rate) {
+        if (!(rate >= 0.0 && rate <= 1.0)) {
+            throw new IllegalArgumentException("Log sampling rate for " + endpoint + " must be between 0 and 1: " + rate);
+        }
+        return (int) Math.round(rate * SCALE);
+    }
+
+}
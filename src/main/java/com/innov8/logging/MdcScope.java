@@ -0,0 +1,115 @@
+package com.innov8.logging;
+
+import org.slf4j.MDC;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * MDC changes that are undone when the scope closes, instead of wiping the whole context with MDC.clear():
+ * <pre>{@code
+ * try (MdcScope mdc = MdcScope.open().put("endpoint", "GET /personnel")) {
+ *     ...
+ *     mdc.put("status", "NOT_MODIFIED");
+ * }
+ * }</pre>
+ * {@link #open()} restores only the keys put through the scope, so an enclosing correlationId survives a
+ * controller method and is still there for exception handlers and afterCompletion. {@link #isolated()} and
+ * {@link #replacing(Map)} restore the entire context, for request and task boundaries where anything code below
+ * put directly on MDC must not leak into the thread's next unit of work.
+ * <p>
+ * Not thread-safe; a scope belongs to the thread that opened it and must be closed on that thread.
+ */
+public final class MdcScope implements AutoCloseable {
+
+    private static final Map<String, String> EMPTY = Map.of();
+
+    /** Whole context to reinstate on close, or null if only tracked keys are restored. */
+    private final Map<String, String> snapshot;
+    /** Value each key had before this scope first changed it; null values mean the key was absent. */
+    private Map<String, String> previousValues;
+    private boolean closed;
+
+    private MdcScope(Map<String, String> snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * A scope that restores each key put through it to its value at the time of the first put.
+     */
+    public static MdcScope open() {
+        return new MdcScope(null);
+    }
+
+    /**
+     * A scope that restores the entire MDC as it is now when closed.
+     */
+    public static MdcScope isolated() {
+        return new MdcScope(copyOfContext());
+    }
+
+    /**
+     * Replaces the entire MDC with {@code context} (null or empty clears it) and restores the current context
+     * when closed. Used to carry a captured context onto another thread.
+     */
+    public static MdcScope replacing(Map<String, String> context) {
+        MdcScope scope = isolated();
+        if (context == null || context.isEmpty()) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+        return scope;
+    }
+
+    /**
+     * Sets a key for the lifetime of this scope. A null value removes the key.
+     */
+    public MdcScope put(String key, String value) {
+        if (snapshot == null) {
+            if (previousValues == null) {
+                previousValues = new HashMap<>(8);
+            }
+            if (!previousValues.containsKey(key)) {
+                previousValues.put(key, MDC.get(key));
+            }
+        }
+        if (value != null) {
+            MDC.put(key, value);
+        } else {
+            MDC.remove(key);
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (snapshot != null) {
+            if (snapshot.isEmpty()) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(snapshot);
+            }
+            return;
+        }
+        if (previousValues != null) {
+            previousValues.forEach((key, previous) -> {
+                if (previous != null) {
+                    MDC.put(key, previous);
+                } else {
+                    MDC.remove(key);
+                }
+            });
+        }
+    }
+
+    private static Map<String, String> copyOfContext() {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return context != null ? context : EMPTY;
+    }
+
+}
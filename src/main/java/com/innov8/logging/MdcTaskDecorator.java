@@ -0,0 +1,24 @@
+package com.innov8.logging;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Carries the submitting thread's MDC (correlationId, userId, jobId, ...) onto the thread that runs the task,
+ * and puts back whatever the executing thread had afterwards so pooled threads never leak context.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            try (MdcScope ignored = MdcScope.replacing(context)) {
+                runnable.run();
+            }
+        };
+    }
+
+}
@@ -1,11 +1,17 @@
 package com.innov8.model;
 
+import com.innov8.service.PersonnelChangeListener;
+import com.innov8.service.PersonnelStatsTracker;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "personnel")
+@Table(name = "personnel", indexes = {
+    // Serves the incremental security scan's watermark window
+    @Index(name = "idx_personnel_updated_at_id", columnList = "updatedAt, id")
+})
+@EntityListeners(PersonnelChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,7 +19,8 @@ import java.time.LocalDateTime;
 public class Personnel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "personnel_seq")
+    @SequenceGenerator(name = "personnel_seq", sequenceName = "personnel_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -38,6 +45,21 @@ public class Personnel {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Optimistic-locking version; also the basis of the per-record ETag.
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Status, department and role as last loaded or written; lets PersonnelChangeListener count an update as a
+     * move from the old group to the new one.
+     */
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private PersonnelStatsTracker.Key statsKey;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
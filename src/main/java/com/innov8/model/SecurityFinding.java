@@ -0,0 +1,47 @@
+package com.innov8.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * An open security finding for one personnel record. Rows are written by SecurityScanEngine in JDBC batches and
+ * removed when a later scan no longer reports them; the database drops them with the personnel row they belong to.
+ */
+@Entity
+@Table(name = "security_findings", uniqueConstraints =
+        @UniqueConstraint(name = "uk_finding_personnel_type", columnNames = {"personnel_id", "type"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SecurityFinding {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "security_findings_seq")
+    @SequenceGenerator(name = "security_findings_seq", sequenceName = "security_findings_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "personnel_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Personnel personnel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private SecurityFindingType type;
+
+    @Column
+    private String detail;
+
+    @Column(nullable = false)
+    private LocalDateTime detectedAt;
+
+    @Column(nullable = false, length = 36)
+    private String scanId; // Run that first reported the finding
+
+}
@@ -0,0 +1,5 @@
+package com.innov8.model;
+
+public enum SecurityFindingType {
+    INACTIVE_ACCOUNT, EXTERNAL_EMAIL, STALE_PENDING
+}
@@ -0,0 +1,58 @@
+package com.innov8.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One security scan run. The watermarkTo of the latest completed run is where the next run starts.
+ */
+@Entity
+@Table(name = "security_scan_runs", indexes =
+        @Index(name = "idx_scan_status_watermark", columnList = "status, watermarkTo"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SecurityScanRun {
+
+    @Id
+    @Column(length = 36)
+    private String scanId; // Time-ordered, from CorrelationIds
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SecurityScanStatus status;
+
+    @Column
+    private LocalDateTime watermarkFrom; // Exclusive; null on the first run, which examines every row
+
+    @Column(nullable = false)
+    private LocalDateTime watermarkTo; // Inclusive
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column
+    private LocalDateTime completedAt;
+
+    @Column
+    private Long rowsExamined;
+
+    @Column
+    private Integer chunks;
+
+    @Column
+    private Long findingsRaised;
+
+    @Column
+    private Long findingsResolved;
+
+    @Column
+    private Long openFindings;
+
+    @Column
+    private Long executionTime; // Milliseconds
+
+}
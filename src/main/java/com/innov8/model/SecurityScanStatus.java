@@ -0,0 +1,5 @@
+package com.innov8.model;
+
+public enum SecurityScanStatus {
+    RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,175 @@
+package com.innov8.repository;
+
+import com.innov8.config.AuditStorageProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * Owns the per-day audit tables ({@code audit_logs_pYYYYMMDD}) and the {@code audit_logs} view over all of them.
+ * <p>
+ * H2 has no declarative partitioning, so each day is its own table with the indexes the keyset queries need.
+ * Queries address only the partitions their time bounds cover, and retention drops whole tables instead of
+ * deleting rows. The view exists for ad-hoc SQL; application queries never read through it.
+ * <p>
+ * H2 commits the open transaction on DDL, so partitions must be created before a write transaction starts.
+ * The rest of the schema is versioned in {@code db/migration}; partitions stay here because they are created
+ * day by day at runtime.
+ */
+@Component
+@Slf4j
+public class AuditLogPartitions {
+
+    static final String SEQUENCE = "audit_logs_seq";
+    /** Ids are handed out in blocks of this size; matches the sequence's INCREMENT BY in V1__baseline_schema. */
+    static final int SEQUENCE_INCREMENT = 50;
+
+    private static final String PREFIX = "audit_logs_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditStorageProperties properties;
+    private final NavigableSet<LocalDate> days = new ConcurrentSkipListSet<>();
+
+    public AuditLogPartitions(JdbcTemplate jdbcTemplate, AuditStorageProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void init() {
+        jdbcTemplate.queryForList("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                        + "WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME LIKE 'AUDIT_LOGS_P%'", String.class)
+                .forEach(table -> days.add(LocalDate.parse(table.substring(PREFIX.length()), SUFFIX)));
+        LocalDate today = LocalDate.now();
+        ensureRange(today, today.plusDays(properties.getPrecreateDays()));
+    }
+
+    public static String tableFor(LocalDate day) {
+        return PREFIX + day.format(SUFFIX);
+    }
+
+    /**
+     * Creates any missing partitions among {@code required}. Call outside a transaction.
+     */
+    public void ensure(Collection<LocalDate> required) {
+        if (days.containsAll(required)) {
+            return;
+        }
+        synchronized (this) {
+            List<LocalDate> created = new ArrayList<>();
+            for (LocalDate day : required) {
+                if (!days.contains(day)) {
+                    createTable(day);
+                    days.add(day);
+                    created.add(day);
+                }
+            }
+            if (!created.isEmpty()) {
+                refreshView();
+                log.info("Created audit partitions {}", created);
+            }
+        }
+    }
+
+    public void ensureRange(LocalDate from, LocalDate to) {
+        ensure(from.datesUntil(to.plusDays(1)).toList());
+    }
+
+    /**
+     * Drops every partition for days before {@code cutoff}.
+     *
+     * @return the days dropped
+     */
+    public synchronized List<LocalDate> dropBefore(LocalDate cutoff) {
+        List<LocalDate> expired = new ArrayList<>(days.headSet(cutoff, false));
+        if (expired.isEmpty()) {
+            return expired;
+        }
+        days.removeAll(expired);
+        // The view references the tables, so it has to let go of them first
+        refreshView();
+        expired.forEach(day -> jdbcTemplate.execute("DROP TABLE IF EXISTS " + tableFor(day)));
+        return expired;
+    }
+
+    public boolean contains(LocalDate day) {
+        return days.contains(day);
+    }
+
+    /**
+     * Existing partitions that can hold rows in [from, to], newest first. Null bounds are open.
+     */
+    public List<LocalDate> newestFirst(LocalDateTime from, LocalDateTime to) {
+        return new ArrayList<>(slice(from, to).descendingSet());
+    }
+
+    /**
+     * Existing partitions that can hold rows in [from, to], oldest first. Null bounds are open.
+     */
+    public List<LocalDate> oldestFirst(LocalDateTime from, LocalDateTime to) {
+        return new ArrayList<>(slice(from, to));
+    }
+
+    private NavigableSet<LocalDate> slice(LocalDateTime from, LocalDateTime to) {
+        NavigableSet<LocalDate> slice = days;
+        if (from != null) {
+            slice = slice.tailSet(from.toLocalDate(), true);
+        }
+        if (to != null) {
+            slice = slice.headSet(to.toLocalDate(), true);
+        }
+        return slice;
+    }
+
+    private void createTable(LocalDate day) {
+        String table = tableFor(day);
+        String suffix = day.format(SUFFIX);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " ("
+                + "id BIGINT NOT NULL PRIMARY KEY, "
+                + "action VARCHAR(255) NOT NULL, "
+                + "entity_type VARCHAR(255) NOT NULL, "
+                + "entity_id BIGINT, "
+                + "username VARCHAR(255) NOT NULL, "
+                + "ip_address VARCHAR(50), "
+                + "details VARCHAR(255), "
+                + "response_status INTEGER, "
+                + "execution_time BIGINT, "
+                + "execution_time_nanos BIGINT, "
+                + "timestamp TIMESTAMP(6) NOT NULL, "
+                + "user_agent VARCHAR(255), "
+                + "CONSTRAINT ck_" + table + "_day CHECK (timestamp >= TIMESTAMP '" + day.atStartOfDay()
+                + "' AND timestamp < TIMESTAMP '" + day.plusDays(1).atStartOfDay() + "'))");
+        // Each index ends in (timestamp, id) to serve the keyset-paginated queries in AuditLogRepository
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_timestamp_id_" + suffix
+                + " ON " + table + " (timestamp, id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_action_timestamp_id_" + suffix
+                + " ON " + table + " (action, timestamp, id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_timestamp_id_" + suffix
+                + " ON " + table + " (username, timestamp, id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_entity_timestamp_id_" + suffix
+                + " ON " + table + " (entity_type, entity_id, timestamp, id)");
+    }
+
+    private void refreshView() {
+        if (days.isEmpty()) {
+            jdbcTemplate.execute("DROP VIEW IF EXISTS audit_logs");
+            return;
+        }
+        jdbcTemplate.execute("CREATE OR REPLACE VIEW audit_logs AS " + days.stream()
+                .map(day -> "SELECT * FROM " + tableFor(day))
+                .collect(Collectors.joining(" UNION ALL ")));
+    }
+
+}
@@ -1,23 +1,286 @@
 package com.innov8.repository;
 
+import com.innov8.dto.AuditLogDTO;
 import com.innov8.model.AuditLog;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Audit events stored in day partitions (see AuditLogPartitions). Every query visits only the partitions its
+ * time bounds cover, newest first for pages and oldest first for exports, and stops as soon as it has enough rows.
+ * <p>
+ * All listing queries seek by (timestamp, id) in descending order: the caller passes the last row it has seen
+ * and the query resumes right after it, so every page is an index range scan of {@code limit} rows however
+ * deep the client pages. "timestamp <= ?" is the sargable half of the seek predicate; the OR clause only
+ * breaks ties between rows sharing the cursor's timestamp.
+ * <p>
+ * Pages are mapped straight into {@link AuditLogDTO}s and read in one read-only transaction, so a seek that
+ * spans several partitions holds a single connection. Exports and the stats backfill stream {@link AuditLog}s.
+ */
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-    List<AuditLog> findByUsernameOrderByTimestampDesc(String username);
-    List<AuditLog> findByActionOrderByTimestampDesc(String action);
-    List<AuditLog> findByEntityTypeAndEntityIdOrderByTimestampDesc(String entityType, Long entityId);
-    
-    @Query("SELECT a FROM AuditLog a WHERE a.timestamp BETWEEN :startTime AND :endTime ORDER BY a.timestamp DESC")
-    List<AuditLog> findByTimestampRange(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
-    
-    @Query("SELECT a FROM AuditLog a WHERE a.username = :username AND a.timestamp BETWEEN :startTime AND :endTime ORDER BY a.timestamp DESC")
-    List<AuditLog> findUserActivityByDateRange(@Param("username") String username, @Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+@Timed("innov8.repository")
+public class AuditLogRepository {
+
+    private static final String COLUMNS = "id, action, entity_type, entity_id, username, ip_address, details, "
+            + "response_status, execution_time, execution_time_nanos, timestamp, user_agent";
+
+    private static final String SEEK = "timestamp <= ? AND (timestamp < ? OR id < ?) ORDER BY timestamp DESC, id DESC";
+
+    private static final RowMapper<AuditLog> ROW_MAPPER = (ResultSet rs, int rowNum) -> AuditLog.builder()
+            .id(rs.getLong(1))
+            .action(rs.getString(2))
+            .entityType(rs.getString(3))
+            .entityId(rs.getObject(4, Long.class))
+            .username(rs.getString(5))
+            .ipAddress(rs.getString(6))
+            .details(rs.getString(7))
+            .responseStatus(rs.getObject(8, Integer.class))
+            .executionTime(rs.getObject(9, Long.class))
+            .executionTimeNanos(rs.getObject(10, Long.class))
+            .timestamp(rs.getTimestamp(11).toLocalDateTime())
+            .userAgent(rs.getString(12))
+            .build();
+
+    private static final RowMapper<AuditLogDTO> DTO_ROW_MAPPER = (ResultSet rs, int rowNum) -> new AuditLogDTO(
+            rs.getLong(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getObject(4, Long.class),
+            rs.getString(5),
+            rs.getString(6),
+            rs.getString(7),
+            rs.getObject(8, Integer.class),
+            rs.getObject(9, Long.class),
+            rs.getObject(10, Long.class),
+            rs.getTimestamp(11).toLocalDateTime(),
+            rs.getString(12));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorTemplate;
+    private final AuditLogPartitions partitions;
+    private final AuditRollupRepository rollups;
+    private final TransactionTemplate readOnlyTransaction;
+
+    /** Current block of ids taken from the sequence: [nextId, idLimit). */
+    private long nextId;
+    private long idLimit;
+
+    public AuditLogRepository(JdbcTemplate jdbcTemplate, AuditLogPartitions partitions,
+                              AuditRollupRepository rollups, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitions = partitions;
+        this.rollups = rollups;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Rows arrive from the driver in fetch-size chunks instead of being materialized as a list
+        this.cursorTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursorTemplate.setFetchSize(1000);
+    }
+
+    public List<AuditLogDTO> findPageByUsername(String username, LocalDateTime cursorTimestamp, long cursorId,
+                                             Limit limit) {
+        return seek("username = ?", List.of(username), null, cursorTimestamp, cursorId, limit);
+    }
+
+    public List<AuditLogDTO> findPageByAction(String action, LocalDateTime cursorTimestamp, long cursorId, Limit limit) {
+        return seek("action = ?", List.of(action), null, cursorTimestamp, cursorId, limit);
+    }
+
+    public List<AuditLogDTO> findPageByEntity(String entityType, Long entityId, LocalDateTime cursorTimestamp,
+                                           long cursorId, Limit limit) {
+        return seek("entity_type = ? AND entity_id = ?", Arrays.asList(entityType, entityId), null,
+                cursorTimestamp, cursorId, limit);
+    }
+
+    public List<AuditLogDTO> findPageByTimestampRange(LocalDateTime startTime, LocalDateTime cursorTimestamp,
+                                                   long cursorId, Limit limit) {
+        return seek(null, List.of(), startTime, cursorTimestamp, cursorId, limit);
+    }
+
+    public List<AuditLogDTO> findUserPageByTimestampRange(String username, LocalDateTime startTime,
+                                                       LocalDateTime cursorTimestamp, long cursorId, Limit limit) {
+        return seek("username = ?", List.of(username), startTime, cursorTimestamp, cursorId, limit);
+    }
+
+    /**
+     * Cursor over a time range in ascending order for exports, one partition after another. Must be consumed
+     * inside a transaction and closed.
+     */
+    public Stream<AuditLog> streamByTimestampRange(LocalDateTime startTime, LocalDateTime endTime) {
+        Timestamp from = Timestamp.valueOf(startTime);
+        Timestamp to = Timestamp.valueOf(endTime);
+        return partitions.oldestFirst(startTime, endTime).stream()
+                .flatMap(day -> readPartition(day, () -> cursorTemplate.queryForStream("SELECT " + COLUMNS + " FROM "
+                        + AuditLogPartitions.tableFor(day) + " WHERE timestamp >= ? AND timestamp <= ? "
+                        + "ORDER BY timestamp, id", ROW_MAPPER, from, to), Stream.empty()));
+    }
+
+    public long count() {
+        long total = 0;
+        for (LocalDate day : partitions.oldestFirst(null, null)) {
+            Long rows = readPartition(day, () -> jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + AuditLogPartitions.tableFor(day), Long.class), 0L);
+            total += rows != null ? rows : 0;
+        }
+        return total;
+    }
+
+    /**
+     * Creates the partitions a batch will be written to. H2 commits on DDL, so this must run before the
+     * transaction that calls {@link #saveAll}.
+     */
+    public void preparePartitions(Collection<AuditLog> auditLogs) {
+        Set<LocalDate> days = auditLogs.stream()
+                .map(auditLog -> auditLog.getTimestamp().toLocalDate())
+                .collect(Collectors.toSet());
+        partitions.ensure(days);
+    }
+
+    /**
+     * Inserts the events and folds them into the hourly rollup, in the caller's transaction.
+     */
+    public void saveAll(List<AuditLog> auditLogs) {
+        insertAll(auditLogs);
+        rollups.add(auditLogs);
+    }
+
+    /**
+     * {@link #saveAll} plus the audit journal position the batch ends at, in the caller's transaction: the events
+     * and the record that they were applied commit together, so replaying from {@link #journalCheckpoint} never
+     * inserts an event twice.
+     */
+    public void saveJournaled(List<AuditLog> auditLogs, long journalPosition) {
+        saveAll(auditLogs);
+        jdbcTemplate.update("MERGE INTO audit_journal_checkpoint (id, applied_position) KEY (id) VALUES (1, ?)",
+                journalPosition);
+    }
+
+    /**
+     * Journal position up to which events have been applied, or 0 if none have.
+     */
+    public long journalCheckpoint() {
+        List<Long> position = jdbcTemplate.queryForList(
+                "SELECT applied_position FROM audit_journal_checkpoint WHERE id = 1", Long.class);
+        return position.isEmpty() ? 0L : position.get(0);
+    }
+
+    /**
+     * Inserts the events without touching the rollup; bulk loaders rebuild it per day afterwards. Events without
+     * an id get one from audit_logs_seq.
+     */
+    public void insertAll(List<AuditLog> auditLogs) {
+        // No-op when preparePartitions ran first, as it should have
+        preparePartitions(auditLogs);
+        Map<LocalDate, List<AuditLog>> byDay = new LinkedHashMap<>();
+        for (AuditLog auditLog : auditLogs) {
+            if (auditLog.getId() == null) {
+                auditLog.setId(nextId());
+            }
+            byDay.computeIfAbsent(auditLog.getTimestamp().toLocalDate(), day -> new ArrayList<>()).add(auditLog);
+        }
+        byDay.forEach((day, rows) -> jdbcTemplate.batchUpdate("INSERT INTO " + AuditLogPartitions.tableFor(day)
+                        + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows, 1000,
+                (ps, a) -> {
+                    ps.setLong(1, a.getId());
+                    ps.setString(2, a.getAction());
+                    ps.setString(3, a.getEntityType());
+                    ps.setObject(4, a.getEntityId(), Types.BIGINT);
+                    ps.setString(5, a.getUsername());
+                    ps.setString(6, a.getIpAddress());
+                    ps.setString(7, a.getDetails());
+                    ps.setObject(8, a.getResponseStatus(), Types.INTEGER);
+                    ps.setObject(9, a.getExecutionTime(), Types.BIGINT);
+                    ps.setObject(10, a.getExecutionTimeNanos(), Types.BIGINT);
+                    ps.setTimestamp(11, Timestamp.valueOf(a.getTimestamp()));
+                    ps.setString(12, a.getUserAgent());
+                }));
+    }
+
+    /**
+     * Each sequence value reserves the block [value, value + increment), so one round trip covers many inserts.
+     */
+    private synchronized long nextId() {
+        if (nextId == idLimit) {
+            Long value = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + AuditLogPartitions.SEQUENCE,
+                    Long.class);
+            nextId = value;
+            idLimit = value + AuditLogPartitions.SEQUENCE_INCREMENT;
+        }
+        return nextId++;
+    }
+
+    /**
+     * Walks the partitions from the cursor's day down to {@code lowerBound}'s (or the oldest), running the same
+     * keyset query on each until {@code limit} rows have been collected.
+     */
+    private List<AuditLogDTO> seek(String filter, List<Object> filterArgs, LocalDateTime lowerBound,
+                                LocalDateTime cursorTimestamp, long cursorId, Limit limit) {
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        StringBuilder where = new StringBuilder(" WHERE ");
+        List<Object> args = new ArrayList<>(filterArgs);
+        if (filter != null) {
+            where.append(filter).append(" AND ");
+        }
+        if (lowerBound != null) {
+            where.append("timestamp >= ? AND ");
+            args.add(Timestamp.valueOf(lowerBound));
+        }
+        Timestamp cursor = Timestamp.valueOf(cursorTimestamp);
+        args.add(cursor);
+        args.add(cursor);
+        args.add(cursorId);
+        args.add(0);
+        String tail = where + SEEK + " LIMIT ?";
+
+        return readOnlyTransaction.execute(status -> {
+            List<AuditLogDTO> page = new ArrayList<>();
+            for (LocalDate day : partitions.newestFirst(lowerBound, cursorTimestamp)) {
+                args.set(args.size() - 1, max - page.size());
+                page.addAll(readPartition(day, () -> jdbcTemplate.query("SELECT " + COLUMNS + " FROM "
+                        + AuditLogPartitions.tableFor(day) + tail, DTO_ROW_MAPPER, args.toArray()), List.of()));
+                if (page.size() >= max) {
+                    break;
+                }
+            }
+            return page;
+        });
+    }
+
+    /**
+     * Runs one read against a day's partition. Retention can drop that partition between listing the days and
+     * reading it; the day then has no rows left to return, so it reads as {@code empty} instead of failing the query.
+     */
+    private <T> T readPartition(LocalDate day, Supplier<T> read, T empty) {
+        try {
+            return read.get();
+        } catch (BadSqlGrammarException e) {
+            if (partitions.contains(day)) {
+                throw e;
+            }
+            return empty;
+        }
+    }
+
 }
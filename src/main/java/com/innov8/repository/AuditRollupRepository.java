@@ -0,0 +1,203 @@
+package com.innov8.repository;
+
+import com.innov8.dto.AuditRollup;
+import com.innov8.model.AuditLog;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hourly aggregates of audit events per (action, username), maintained alongside the raw partitions.
+ * <p>
+ * Dashboard queries read at most one row per hour, action and user instead of every event, and keep working
+ * after retention has dropped the raw partitions they were built from.
+ */
+@Repository
+@Timed("innov8.repository")
+public class AuditRollupRepository {
+
+    public enum GroupBy {
+        ACTION("action"),
+        USER("username"),
+        HOUR("bucket_start");
+
+        private final String column;
+
+        GroupBy(String column) {
+            this.column = column;
+        }
+    }
+
+    private static final String UPSERT =
+            "MERGE INTO audit_rollup_hourly t USING (VALUES (CAST(? AS TIMESTAMP), CAST(? AS VARCHAR(255)), " +
+            "CAST(? AS VARCHAR(255)), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), " +
+            "CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT))) " +
+            "s (bucket_start, action, username, event_count, client_error_count, server_error_count, " +
+            "latency_count, latency_sum_nanos, latency_min_nanos, latency_max_nanos) " +
+            "ON t.bucket_start = s.bucket_start AND t.action = s.action AND t.username = s.username " +
+            "WHEN MATCHED THEN UPDATE SET event_count = t.event_count + s.event_count, " +
+            "client_error_count = t.client_error_count + s.client_error_count, " +
+            "server_error_count = t.server_error_count + s.server_error_count, " +
+            "latency_count = t.latency_count + s.latency_count, " +
+            "latency_sum_nanos = t.latency_sum_nanos + s.latency_sum_nanos, " +
+            "latency_min_nanos = LEAST(COALESCE(t.latency_min_nanos, s.latency_min_nanos), " +
+            "COALESCE(s.latency_min_nanos, t.latency_min_nanos)), " +
+            "latency_max_nanos = GREATEST(COALESCE(t.latency_max_nanos, s.latency_max_nanos), " +
+            "COALESCE(s.latency_max_nanos, t.latency_max_nanos)) " +
+            "WHEN NOT MATCHED THEN INSERT VALUES (s.bucket_start, s.action, s.username, s.event_count, " +
+            "s.client_error_count, s.server_error_count, s.latency_count, s.latency_sum_nanos, " +
+            "s.latency_min_nanos, s.latency_max_nanos)";
+
+    /** Same aggregation as {@link #add}, computed in SQL over one partition. */
+    private static final String REBUILD_SELECT =
+            "SELECT DATE_TRUNC('HOUR', timestamp), action, username, COUNT(*), " +
+            "SUM(CASE WHEN response_status BETWEEN 400 AND 499 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN response_status >= 500 THEN 1 ELSE 0 END), " +
+            "COUNT(COALESCE(execution_time_nanos, execution_time * 1000000)), " +
+            "COALESCE(SUM(COALESCE(execution_time_nanos, execution_time * 1000000)), 0), " +
+            "MIN(COALESCE(execution_time_nanos, execution_time * 1000000)), " +
+            "MAX(COALESCE(execution_time_nanos, execution_time * 1000000)) " +
+            "FROM %s GROUP BY DATE_TRUNC('HOUR', timestamp), action, username";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Folds a batch of events into their hourly buckets. Runs in the caller's transaction, so the rollup
+     * commits or rolls back together with the raw rows.
+     */
+    public void add(List<AuditLog> auditLogs) {
+        Map<Bucket, Aggregate> buckets = new HashMap<>();
+        for (AuditLog auditLog : auditLogs) {
+            Bucket bucket = new Bucket(auditLog.getTimestamp().truncatedTo(ChronoUnit.HOURS),
+                    auditLog.getAction(), auditLog.getUsername());
+            buckets.computeIfAbsent(bucket, b -> new Aggregate()).add(auditLog);
+        }
+        List<Map.Entry<Bucket, Aggregate>> rows = new ArrayList<>(buckets.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), (ps, row) -> {
+            Bucket bucket = row.getKey();
+            Aggregate aggregate = row.getValue();
+            ps.setTimestamp(1, Timestamp.valueOf(bucket.start()));
+            ps.setString(2, bucket.action());
+            ps.setString(3, bucket.username());
+            ps.setLong(4, aggregate.events);
+            ps.setLong(5, aggregate.clientErrors);
+            ps.setLong(6, aggregate.serverErrors);
+            ps.setLong(7, aggregate.latencyCount);
+            ps.setLong(8, aggregate.latencySum);
+            if (aggregate.latencyCount > 0) {
+                ps.setLong(9, aggregate.latencyMin);
+                ps.setLong(10, aggregate.latencyMax);
+            } else {
+                ps.setNull(9, Types.BIGINT);
+                ps.setNull(10, Types.BIGINT);
+            }
+        });
+    }
+
+    /**
+     * Recomputes the buckets of one day from its partition, for rows that were written without going through
+     * {@link #add} (bulk loads, manual SQL).
+     */
+    public void rebuild(LocalDate day) {
+        jdbcTemplate.update("DELETE FROM audit_rollup_hourly WHERE bucket_start >= ? AND bucket_start < ?",
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+        jdbcTemplate.update("INSERT INTO audit_rollup_hourly "
+                + REBUILD_SELECT.formatted(AuditLogPartitions.tableFor(day)));
+    }
+
+    public int deleteBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM audit_rollup_hourly WHERE bucket_start < ?", Timestamp.valueOf(cutoff));
+    }
+
+    /**
+     * Aggregates the hourly buckets in [startTime, endTime) by {@code groupBy}, busiest groups first (oldest first
+     * for {@link GroupBy#HOUR}). Buckets are whole hours, so the bounds are effectively rounded down to the hour.
+     */
+    public List<AuditRollup> summarize(LocalDateTime startTime, LocalDateTime endTime, GroupBy groupBy,
+                                       String action, String username, int limit) {
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(startTime.truncatedTo(ChronoUnit.HOURS)));
+        args.add(Timestamp.valueOf(endTime));
+        StringBuilder sql = new StringBuilder("SELECT ").append(groupBy.column).append(", SUM(event_count), ")
+                .append("SUM(client_error_count), SUM(server_error_count), SUM(latency_count), ")
+                .append("SUM(latency_sum_nanos), MIN(latency_min_nanos), MAX(latency_max_nanos) ")
+                .append("FROM audit_rollup_hourly WHERE bucket_start >= ? AND bucket_start < ?");
+        if (action != null) {
+            sql.append(" AND action = ?");
+            args.add(action);
+        }
+        if (username != null) {
+            sql.append(" AND username = ?");
+            args.add(username);
+        }
+        sql.append(" GROUP BY ").append(groupBy.column)
+                .append(groupBy == GroupBy.HOUR ? " ORDER BY bucket_start" : " ORDER BY SUM(event_count) DESC")
+                .append(" LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> toRollup(rs, groupBy), args.toArray());
+    }
+
+    private static AuditRollup toRollup(ResultSet rs, GroupBy groupBy) throws SQLException {
+        long latencyCount = rs.getLong(5);
+        return AuditRollup.builder()
+                .key(groupBy == GroupBy.HOUR ? rs.getTimestamp(1).toLocalDateTime().toString() : rs.getString(1))
+                .events(rs.getLong(2))
+                .clientErrors(rs.getLong(3))
+                .serverErrors(rs.getLong(4))
+                .avgLatencyMillis(latencyCount > 0 ? rs.getLong(6) / (double) latencyCount / 1_000_000 : null)
+                .minLatencyMillis(latencyCount > 0 ? rs.getLong(7) / 1_000_000.0 : null)
+                .maxLatencyMillis(latencyCount > 0 ? rs.getLong(8) / 1_000_000.0 : null)
+                .build();
+    }
+
+    private record Bucket(LocalDateTime start, String action, String username) {
+    }
+
+    private static final class Aggregate {
+
+        private long events;
+        private long clientErrors;
+        private long serverErrors;
+        private long latencyCount;
+        private long latencySum;
+        private long latencyMin = Long.MAX_VALUE;
+        private long latencyMax = Long.MIN_VALUE;
+
+        private void add(AuditLog auditLog) {
+            events++;
+            Integer status = auditLog.getResponseStatus();
+            if (status != null && status >= 400) {
+                if (status < 500) {
+                    clientErrors++;
+                } else {
+                    serverErrors++;
+                }
+            }
+            Long nanos = auditLog.getExecutionTimeNanos() != null ? auditLog.getExecutionTimeNanos()
+                    : auditLog.getExecutionTime() != null ? auditLog.getExecutionTime() * 1_000_000 : null;
+            if (nanos != null) {
+                latencyCount++;
+                latencySum += nanos;
+                latencyMin = Math.min(latencyMin, nanos);
+                latencyMax = Math.max(latencyMax, nanos);
+            }
+        }
+    }
+
+}
@@ -1,13 +1,54 @@
 package com.innov8.repository;
 
+import com.innov8.dto.PersonnelDTO;
 import com.innov8.model.Personnel;
 import com.innov8.model.PersonnelStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Reads that only feed a response select straight into {@link PersonnelDTO} in a read-only transaction: no
+ * entity is instantiated, nothing enters the persistence context and there is no dirty check or flush. Entity
+ * finders stay for the write paths, which need managed instances.
+ */
 @Repository
 public interface PersonnelRepository extends JpaRepository<Personnel, Long> {
+
+    String DTO_SELECT = "SELECT new com.innov8.dto.PersonnelDTO(p.id, p.name, p.email, p.role, p.department, "
+            + "p.status, p.createdAt, p.updatedAt, p.version) FROM Personnel p";
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Personnel> findByStatus(PersonnelStatus status);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Personnel> findByDepartmentIgnoreCase(String department);
+
+    List<Personnel> findByEmailIn(Collection<String> emails);
+
+    @Transactional(readOnly = true)
+    @Query(DTO_SELECT + " ORDER BY p.id")
+    List<PersonnelDTO> findAllDtos();
+
+    @Transactional(readOnly = true)
+    @Query(DTO_SELECT + " WHERE p.id = :id")
+    Optional<PersonnelDTO> findDtoById(@Param("id") Long id);
+
+    /**
+     * Primary-key lookup of the version column alone, for conditional GETs.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT p.version FROM Personnel p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
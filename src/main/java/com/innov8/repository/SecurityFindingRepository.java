@@ -0,0 +1,18 @@
+package com.innov8.repository;
+
+import com.innov8.model.SecurityFinding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SecurityFindingRepository extends JpaRepository<SecurityFinding, Long> {
+
+    /**
+     * Open findings per type, as [type, count] rows.
+     */
+    @Query("SELECT f.type, COUNT(f) FROM SecurityFinding f GROUP BY f.type")
+    List<Object[]> countByTypeGrouped();
+}
@@ -0,0 +1,14 @@
+package com.innov8.repository;
+
+import com.innov8.model.SecurityScanRun;
+import com.innov8.model.SecurityScanStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SecurityScanRunRepository extends JpaRepository<SecurityScanRun, String> {
+
+    Optional<SecurityScanRun> findFirstByStatusOrderByWatermarkToDesc(SecurityScanStatus status);
+}
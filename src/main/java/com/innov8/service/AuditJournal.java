@@ -0,0 +1,400 @@
+package com.innov8.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.innov8.config.AuditPipelineProperties.FsyncPolicy;
+import com.innov8.model.AuditLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, segmented journal of audit events, written through memory-mapped files. Every event is appended
+ * here before it is acknowledged; the audit writer tails the journal and applies it to the database in batches.
+ * <p>
+ * An event's position is its byte offset in an unbounded log that the segments ({@code <base>.journal}, fixed
+ * size) cut into pieces. A record is {@code [int length][int crc32c][Smile payload]}; a length of -1 means the
+ * rest of the segment is unused and the next record starts the following segment, and 0 marks the end of what
+ * was written. Positions only grow, across restarts too, so "applied up to position p" identifies exactly which
+ * events made it to the database.
+ * <p>
+ * Appended bytes live in the page cache as soon as {@link #append} returns, so a process crash loses nothing;
+ * {@link FsyncPolicy} only decides how much a kernel crash or power loss can take: nothing acknowledged
+ * (EVERY_EVENT, with concurrent appenders sharing one msync), up to the flush interval (INTERVAL), or whatever the
+ * kernel had not written back yet (OS). On open, the tail of the last segment is scanned and a torn record, and
+ * anything after it, is discarded.
+ */
+@Slf4j
+public class AuditJournal implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String APPLIED_FILE = "applied.position";
+    private static final int HEADER_BYTES = 8;
+    private static final int ROLL_MARKER = -1;
+    private static final int ZERO_CHUNK = 4096;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final ObjectWriter eventWriter;
+    private final ObjectReader eventReader;
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final FileChannel appliedFile;
+    private final ScheduledExecutorService flusher;
+    private final Object forceLock = new Object();
+
+    /** Guarded by this. */
+    private Segment active;
+    private long writePosition;
+    private long appendedEvents;
+    private boolean readerWaiting;
+    private boolean closed;
+
+    /** Everything below is visible to {@link #read}; written under this, after the record's bytes. */
+    private volatile long publishedPosition;
+    /** Everything below has been forced to the storage device. */
+    private volatile long durablePosition;
+    private final long recoveredAppliedPosition;
+
+    /**
+     * Opens the journal in {@code directory}, recovering the end of the last segment.
+     *
+     * @param appliedPosition the position the database says has been applied; positions handed out from now on
+     *                        are never below it, even if the directory was emptied
+     */
+    public AuditJournal(Path directory, long segmentSize, FsyncPolicy fsyncPolicy, Duration fsyncInterval,
+                        long appliedPosition) throws IOException {
+        if (segmentSize < 64 * 1024 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Audit journal segment size must be between 64KB and 2GB: "
+                    + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = (int) segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        // ISO timestamps rather than the epoch millis of the Smile responses: events keep their full precision
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+        this.eventWriter = smile.writerFor(AuditLog.class);
+        this.eventReader = smile.readerFor(AuditLog.class);
+
+        Files.createDirectories(directory);
+        this.appliedFile = FileChannel.open(directory.resolve(APPLIED_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.recoveredAppliedPosition = Math.max(appliedPosition, readAppliedFile());
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX))::iterator) {
+                String name = file.getFileName().toString();
+                long base = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(base, Segment.map(base, file, Files.size(file)));
+            }
+        }
+        if (segments.isEmpty()) {
+            active = newSegment(recoveredAppliedPosition);
+            writePosition = active.base;
+        } else {
+            active = segments.lastEntry().getValue();
+            writePosition = recover(active);
+            if (writePosition < recoveredAppliedPosition) {
+                log.warn("Audit journal ends at {} but {} is already applied; starting a new segment",
+                        writePosition, recoveredAppliedPosition);
+                active = newSegment(recoveredAppliedPosition);
+                writePosition = active.base;
+            }
+        }
+        publishedPosition = writePosition;
+        durablePosition = writePosition;
+
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "innov8-audit-journal-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMillis = Math.max(1, fsyncInterval.toMillis());
+            flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * The first position replay has to read from: the applied position, or the oldest retained record if that is
+     * later.
+     */
+    public long replayPosition() {
+        return Math.max(recoveredAppliedPosition, segments.firstKey());
+    }
+
+    /**
+     * Appends one event and returns the position just past it. Returns once the event is in the page cache, or
+     * on the storage device under EVERY_EVENT.
+     */
+    public long append(AuditLog auditLog) throws IOException {
+        byte[] payload = eventWriter.writeValueAsBytes(auditLog);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes > segmentSize) {
+            throw new IOException("Audit event of " + payload.length + " bytes does not fit a journal segment");
+        }
+
+        long end;
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("Audit journal is closed");
+            }
+            int offset = (int) (writePosition - active.base);
+            if (active.capacity - offset < recordBytes) {
+                if (active.capacity - offset >= Integer.BYTES) {
+                    active.buffer.putInt(offset, ROLL_MARKER);
+                }
+                active = newSegment(active.end());
+                writePosition = active.base;
+                offset = 0;
+            }
+            MappedByteBuffer buffer = active.buffer;
+            buffer.put(offset + HEADER_BYTES, payload);
+            buffer.putInt(offset + Integer.BYTES, (int) crc.getValue());
+            buffer.putInt(offset, payload.length);
+            writePosition += recordBytes;
+            end = writePosition;
+            appendedEvents++;
+            publishedPosition = end;
+            if (readerWaiting) {
+                notifyAll();
+            }
+        }
+        if (fsyncPolicy == FsyncPolicy.EVERY_EVENT) {
+            forceTo(end);
+        }
+        return end;
+    }
+
+    /**
+     * Reads up to {@code max} events starting at {@code position} and returns the position after the last one
+     * read. Only the audit writer reads, one batch at a time.
+     */
+    public long read(long position, int max, List<AuditLog> into) throws IOException {
+        long limit = publishedPosition;
+        while (position < limit && into.size() < max) {
+            Map.Entry<Long, Segment> entry = segments.floorEntry(position);
+            if (entry == null) {
+                throw new IOException("Audit journal position " + position + " precedes the oldest segment");
+            }
+            Segment segment = entry.getValue();
+            int offset = (int) (position - segment.base);
+            int length = segment.capacity - offset < Integer.BYTES ? ROLL_MARKER : segment.buffer.getInt(offset);
+            if (length == ROLL_MARKER) {
+                position = segment.end();
+                continue;
+            }
+            into.add(eventReader.readValue(payload(segment, offset, length)));
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    /**
+     * Waits up to {@code timeoutMillis} for an event past {@code position}; true if there is one.
+     */
+    public boolean awaitAppend(long position, long timeoutMillis) throws InterruptedException {
+        if (publishedPosition > position) {
+            return true;
+        }
+        synchronized (this) {
+            readerWaiting = true;
+            try {
+                if (publishedPosition <= position && !closed) {
+                    wait(timeoutMillis);
+                }
+            } finally {
+                readerWaiting = false;
+            }
+            return publishedPosition > position;
+        }
+    }
+
+    /**
+     * Records that everything below {@code position} is in the database and deletes the segments that held only
+     * such events. The database's own record of the position is authoritative; this copy covers a database that
+     * did not survive the restart, so applied events are not replayed into its replacement.
+     */
+    public void markApplied(long position) throws IOException {
+        appliedFile.write(ByteBuffer.allocate(Long.BYTES).putLong(0, position), 0);
+        for (Segment segment : segments.headMap(position, false).values()) {
+            if (segment.end() <= position && segment != active) {
+                segments.remove(segment.base);
+                segment.channel.close();
+                Files.deleteIfExists(segment.path);
+            }
+        }
+    }
+
+    public long publishedPosition() {
+        return publishedPosition;
+    }
+
+    public synchronized long appendedEvents() {
+        return appendedEvents;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Forces everything appended so far to the storage device.
+     */
+    public void flush() {
+        try {
+            forceTo(publishedPosition);
+        } catch (RuntimeException e) {
+            log.warn("Audit journal flush failed", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        forceTo(publishedPosition);
+        for (Segment segment : segments.values()) {
+            segment.channel.close();
+        }
+        appliedFile.close();
+    }
+
+    /**
+     * One msync covers every appender that got in before it started, so under EVERY_EVENT concurrent requests
+     * share the cost of a sync instead of queueing for one each.
+     */
+    private void forceTo(long target) {
+        if (durablePosition >= target) {
+            return;
+        }
+        synchronized (forceLock) {
+            long from = durablePosition;
+            if (from >= target) {
+                return;
+            }
+            long upTo = publishedPosition;
+            Long firstBase = segments.floorKey(from);
+            for (Segment segment : segments.tailMap(firstBase != null ? firstBase : from, true).values()) {
+                long start = Math.max(from, segment.base);
+                long end = Math.min(upTo, segment.end());
+                // A rolled segment is forced through its end, which covers its roll marker too
+                if (start < end) {
+                    segment.buffer.force((int) (start - segment.base), (int) (end - start));
+                }
+            }
+            durablePosition = upTo;
+        }
+    }
+
+    private Segment newSegment(long base) throws IOException {
+        Segment segment = Segment.map(base, directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX)),
+                segmentSize);
+        segments.put(base, segment);
+        return segment;
+    }
+
+    /**
+     * Walks the records of the last segment and returns the position after the last intact one. Whatever follows
+     * is zeroed, so a later append can never end right where stale bytes from a torn write happen to parse.
+     */
+    private long recover(Segment segment) {
+        int offset = 0;
+        while (segment.capacity - offset >= HEADER_BYTES) {
+            int length = segment.buffer.getInt(offset);
+            if (length == ROLL_MARKER) {
+                // Rolled, but the next segment was never created; resume appending in a new one
+                return segment.end();
+            }
+            if (length <= 0 || length > segment.capacity - offset - HEADER_BYTES) {
+                break;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(payload(segment, offset, length));
+            if ((int) crc.getValue() != segment.buffer.getInt(offset + Integer.BYTES)) {
+                log.warn("Discarding torn audit journal record at position {}", segment.base + offset);
+                break;
+            }
+            offset += HEADER_BYTES + length;
+        }
+        zeroFrom(segment, offset);
+        return segment.base + offset;
+    }
+
+    private static void zeroFrom(Segment segment, int offset) {
+        byte[] zeros = new byte[ZERO_CHUNK];
+        byte[] chunk = new byte[ZERO_CHUNK];
+        for (int start = offset; start < segment.capacity; start += ZERO_CHUNK) {
+            int length = Math.min(ZERO_CHUNK, segment.capacity - start);
+            segment.buffer.get(start, chunk, 0, length);
+            // Only dirty pages that hold something, so the unwritten, sparse part of the file stays unallocated
+            if (!Arrays.equals(chunk, 0, length, zeros, 0, length)) {
+                segment.buffer.put(start, zeros, 0, length);
+            }
+        }
+    }
+
+    private static byte[] payload(Segment segment, int offset, int length) {
+        byte[] payload = new byte[length];
+        segment.buffer.get(offset + HEADER_BYTES, payload);
+        return payload;
+    }
+
+    private long readAppliedFile() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        return appliedFile.read(buffer, 0) == Long.BYTES ? buffer.getLong(0) : 0L;
+    }
+
+    private record Segment(long base, Path path, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+
+        static Segment map(long base, Path path, long size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                return new Segment(base, path, channel, buffer, (int) size);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        long end() {
+            return base + capacity;
+        }
+
+    }
+
+}
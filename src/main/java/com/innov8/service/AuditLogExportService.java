@@ -0,0 +1,169 @@
+package com.innov8.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.innov8.dto.AuditLogDTO;
+import com.innov8.model.AuditLog;
+import com.innov8.repository.AuditLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Writes audit extracts row by row from a database cursor. Rows are mapped to plain objects and dropped as soon
+ * as they have been written, so memory stays flat regardless of how many rows the range covers.
+ */
+@Service
+@Slf4j
+public class AuditLogExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final String[] CSV_HEADER = {
+            "id", "timestamp", "action", "entityType", "entityId", "username", "ipAddress",
+            "responseStatus", "executionTime", "executionTimeNanos", "details", "userAgent"
+    };
+
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public AuditLogExportService(AuditLogRepository auditLogRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper) {
+        this.auditLogRepository = auditLogRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Streams every audit log in [startTime, endTime] to {@code out}, oldest first.
+     *
+     * @return number of rows written
+     */
+    public long export(LocalDateTime startTime, LocalDateTime endTime, Format format, OutputStream out) {
+        long start = System.currentTimeMillis();
+        Long rows = readOnlyTransaction.execute(status -> {
+            try (Stream<AuditLog> auditLogs = auditLogRepository.streamByTimestampRange(startTime, endTime)) {
+                return format == Format.CSV ? writeCsv(auditLogs, out) : writeNdjson(auditLogs, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Exported {} audit logs as {} in {}ms", rows, format, System.currentTimeMillis() - start);
+        return rows != null ? rows : 0L;
+    }
+
+    private long writeNdjson(Stream<AuditLog> auditLogs, OutputStream out) throws IOException {
+        long count = 0;
+        // The servlet stream belongs to the caller, so Jackson must not close it with the sequence
+        try (SequenceWriter writer = objectMapper.writerFor(AuditLogDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            for (AuditLog auditLog : (Iterable<AuditLog>) auditLogs::iterator) {
+                writer.write(AuditLogDTO.from(auditLog));
+                count++;
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        return count;
+    }
+
+    private long writeCsv(Stream<AuditLog> auditLogs, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(String.join(",", CSV_HEADER));
+        writer.write('\n');
+        for (AuditLog auditLog : (Iterable<AuditLog>) auditLogs::iterator) {
+            writeCsvRow(writer, auditLog);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvRow(Writer writer, AuditLog a) throws IOException {
+        writer.write(String.valueOf(a.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(a.getTimestamp()));
+        writer.write(',');
+        writeCsvField(writer, a.getAction());
+        writer.write(',');
+        writeCsvField(writer, a.getEntityType());
+        writer.write(',');
+        writeCsvField(writer, a.getEntityId());
+        writer.write(',');
+        writeCsvField(writer, a.getUsername());
+        writer.write(',');
+        writeCsvField(writer, a.getIpAddress());
+        writer.write(',');
+        writeCsvField(writer, a.getResponseStatus());
+        writer.write(',');
+        writeCsvField(writer, a.getExecutionTime());
+        writer.write(',');
+        writeCsvField(writer, a.getExecutionTimeNanos());
+        writer.write(',');
+        writeCsvField(writer, a.getDetails());
+        writer.write(',');
+        writeCsvField(writer, a.getUserAgent());
+        writer.write('\n');
+    }
+
+    /**
+     * RFC 4180 quoting: fields containing a delimiter, quote or line break are quoted with quotes doubled.
+     */
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+}
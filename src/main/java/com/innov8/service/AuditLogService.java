@@ -1,24 +1,38 @@
 package com.innov8.service;
 
+import com.innov8.analytics.AuditStatsAggregator;
+import com.innov8.dto.AuditLogCursor;
+import com.innov8.dto.AuditLogDTO;
+import com.innov8.dto.AuditStats;
+import com.innov8.dto.AuditRollup;
 import com.innov8.model.AuditLog;
 import com.innov8.repository.AuditLogRepository;
+import com.innov8.repository.AuditRollupRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.slf4j.MDC;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
+@Timed("innov8.service")
 @RequiredArgsConstructor
 @Slf4j
 public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditRollupRepository auditRollupRepository;
+    private final AuditStatsAggregator auditStatsAggregator;
+    private final AuditLogWriter auditLogWriter;
 
     /**
-     * Log user activity for Datadog tracking
+     * Log user activity for Datadog tracking.
+     * The event is queued for the group-commit writer; the caller never waits on a database commit.
      */
     public void logActivity(String action, String entityType, Long entityId, String username, 
                            String ipAddress, Integer responseStatus, Long executionTime, 
@@ -34,9 +48,10 @@ public class AuditLogService {
                     .executionTime(executionTime)
                     .details(details)
                     .userAgent(userAgent)
+                    .timestamp(LocalDateTime.now())
                     .build();
 
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
 
             // Also log to application logs for Datadog
             MDC.put("auditAction", action);
@@ -55,37 +70,95 @@ public class AuditLogService {
     }
 
     /**
-     * Get user activity logs
+     * Queue an audit event captured by RequestCorrelationInterceptor.
+     * Unlike logActivity this emits no log line of its own; the request is already logged by its controller.
      */
-    public List<AuditLog> getUserActivity(String username) {
-        return auditLogRepository.findByUsernameOrderByTimestampDesc(username);
+    public void recordRequest(String action, String entityType, Long entityId, String username,
+                              String ipAddress, Integer responseStatus, long executionTimeNanos,
+                              String details, String userAgent) {
+        AuditLog auditLog = AuditLog.builder()
+                .action(action)
+                .entityType(entityType)
+                .entityId(entityId)
+                .username(truncate(username, 255))
+                .ipAddress(truncate(ipAddress, 50))
+                .responseStatus(responseStatus)
+                .executionTime(TimeUnit.NANOSECONDS.toMillis(executionTimeNanos))
+                .executionTimeNanos(executionTimeNanos)
+                .details(truncate(details, 255))
+                .userAgent(truncate(userAgent, 255))
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        auditLogWriter.submit(auditLog);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    /**
+     * Get user activity logs, newest first, resuming after {@code cursor}.
+     * Every page query fetches {@code limit + 1} rows so the caller can tell whether another page exists.
+     */
+    public List<AuditLogDTO> getUserActivity(String username, AuditLogCursor cursor, int limit) {
+        return auditLogRepository.findPageByUsername(username, cursor.timestamp(), cursor.id(), Limit.of(limit + 1));
     }
 
     /**
      * Get activity by action type
      */
-    public List<AuditLog> getActivityByAction(String action) {
-        return auditLogRepository.findByActionOrderByTimestampDesc(action);
+    public List<AuditLogDTO> getActivityByAction(String action, AuditLogCursor cursor, int limit) {
+        return auditLogRepository.findPageByAction(action, cursor.timestamp(), cursor.id(), Limit.of(limit + 1));
     }
 
     /**
      * Get audit trail for specific entity
      */
-    public List<AuditLog> getEntityAuditTrail(String entityType, Long entityId) {
-        return auditLogRepository.findByEntityTypeAndEntityIdOrderByTimestampDesc(entityType, entityId);
+    public List<AuditLogDTO> getEntityAuditTrail(String entityType, Long entityId, AuditLogCursor cursor, int limit) {
+        return auditLogRepository.findPageByEntity(entityType, entityId, cursor.timestamp(), cursor.id(),
+                Limit.of(limit + 1));
     }
 
     /**
      * Get activity within date range
      */
-    public List<AuditLog> getActivityByDateRange(LocalDateTime startTime, LocalDateTime endTime) {
-        return auditLogRepository.findByTimestampRange(startTime, endTime);
+    public List<AuditLogDTO> getActivityByDateRange(LocalDateTime startTime, LocalDateTime endTime,
+                                                 AuditLogCursor cursor, int limit) {
+        AuditLogCursor seek = clampToEnd(cursor, endTime);
+        return auditLogRepository.findPageByTimestampRange(startTime, seek.timestamp(), seek.id(), Limit.of(limit + 1));
     }
 
     /**
      * Get user activity within date range
      */
-    public List<AuditLog> getUserActivityByDateRange(String username, LocalDateTime startTime, LocalDateTime endTime) {
-        return auditLogRepository.findUserActivityByDateRange(username, startTime, endTime);
+    public List<AuditLogDTO> getUserActivityByDateRange(String username, LocalDateTime startTime, LocalDateTime endTime,
+                                                     AuditLogCursor cursor, int limit) {
+        AuditLogCursor seek = clampToEnd(cursor, endTime);
+        return auditLogRepository.findUserPageByTimestampRange(username, startTime, seek.timestamp(), seek.id(),
+                Limit.of(limit + 1));
+    }
+
+    /**
+     * Aggregated activity from the hourly rollup, without reading raw events
+     */
+    public List<AuditRollup> getRollups(LocalDateTime startTime, LocalDateTime endTime,
+                                        AuditRollupRepository.GroupBy groupBy, String action, String username,
+                                        int limit) {
+        return auditRollupRepository.summarize(startTime, endTime, groupBy, action, username, limit);
+    }
+
+    /**
+     * Sliding-window statistics maintained from the ingest path
+     */
+    public AuditStats getStats(AuditStatsAggregator.Window window, int top) {
+        return auditStatsAggregator.stats(window, top);
+    }
+
+    /**
+     * Seeking from (endTime, max id) keeps rows stamped exactly at endTime, as the old inclusive BETWEEN did.
+     */
+    private static AuditLogCursor clampToEnd(AuditLogCursor cursor, LocalDateTime endTime) {
+        return cursor.timestamp().isAfter(endTime) ? new AuditLogCursor(endTime, Long.MAX_VALUE) : cursor;
     }
 }
@@ -0,0 +1,424 @@
+package com.innov8.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innov8.analytics.AuditStatsAggregator;
+import com.innov8.config.AuditPipelineProperties;
+import com.innov8.config.AuditPipelineProperties.BackpressurePolicy;
+import com.innov8.model.AuditLog;
+import com.innov8.repository.AuditLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded ingestion queue for audit events, drained by a single writer thread that
+ * group-commits whatever has accumulated as one JDBC batch insert per transaction.
+ * The day partitions a batch needs are created before its transaction opens, since H2 commits on DDL.
+ * <p>
+ * With the journal enabled (the default) the queue is the {@link AuditJournal} instead: submitting appends the
+ * event to a memory-mapped file and returns, and the writer thread tails the journal, committing each batch
+ * together with the journal position it ends at. Events are applied strictly in journal order, so that position
+ * is all it takes to replay, at the next start, exactly the events a crash kept from being committed.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter implements SmartLifecycle {
+
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditPipelineProperties properties;
+    private final BlockingQueue<AuditLog> queue;
+    private final AuditSpillFile spillFile;
+    private final DataVersionTracker dataVersionTracker;
+    private final AuditStatsAggregator auditStats;
+
+    private final Counter droppedEvents;
+    private final Counter spilledEvents;
+    private final Counter failedEvents;
+    private final DistributionSummary batchSizes;
+    private final Timer commitLatency;
+    private final Timer journalAppendLatency;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /** Opened by start() before running is set, so producers that see running also see the journal. */
+    private AuditJournal journal;
+    /** Next journal position to apply; written by the writer thread only. */
+    private long journalPosition;
+    /** Events appended since startup that have been applied. */
+    private volatile long journalAppliedEvents;
+
+    public AuditLogWriter(AuditLogRepository auditLogRepository,
+                          PlatformTransactionManager transactionManager,
+                          AuditPipelineProperties properties,
+                          ObjectMapper objectMapper,
+                          DataVersionTracker dataVersionTracker,
+                          AuditStatsAggregator auditStats,
+                          MeterRegistry meterRegistry) {
+        this.dataVersionTracker = dataVersionTracker;
+        this.auditStats = auditStats;
+        this.auditLogRepository = auditLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.spillFile = properties.getBackpressure() == BackpressurePolicy.SPILL
+                ? new AuditSpillFile(objectMapper, Path.of(properties.getSpillDirectory()))
+                : null;
+
+        Gauge.builder("innov8.audit.queue.depth", this, AuditLogWriter::getQueueDepth)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("innov8.audit.events.dropped")
+                .description("Audit events discarded by the DROP_OLDEST policy")
+                .register(meterRegistry);
+        this.spilledEvents = Counter.builder("innov8.audit.events.spilled")
+                .description("Audit events diverted to the spill file")
+                .register(meterRegistry);
+        this.failedEvents = Counter.builder("innov8.audit.events.failed")
+                .description("Audit events lost because their batch could not be committed")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("innov8.audit.batch.size")
+                .description("Events per group commit")
+                .register(meterRegistry);
+        this.commitLatency = Timer.builder("innov8.audit.commit.latency")
+                .description("Time to insert and commit one audit batch")
+                .register(meterRegistry);
+        this.journalAppendLatency = Timer.builder("innov8.audit.journal.append")
+                .description("Request-thread time to append one audit event to the journal, including any fsync")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hands an event to the writer, applying the configured backpressure policy when the queue is full.
+     */
+    public void submit(AuditLog auditLog) {
+        if (!running) {
+            // Before startup or after shutdown there is no writer thread to hand off to
+            persist(List.of(auditLog));
+            return;
+        }
+
+        if (journal != null) {
+            appendToJournal(auditLog);
+            return;
+        }
+
+        if (queue.offer(auditLog)) {
+            return;
+        }
+
+        switch (properties.getBackpressure()) {
+            case BLOCK -> {
+                try {
+                    queue.put(auditLog);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedEvents.increment();
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(auditLog)) {
+                    if (queue.poll() != null) {
+                        droppedEvents.increment();
+                    }
+                }
+            }
+            case SPILL -> spill(List.of(auditLog));
+        }
+    }
+
+    public int getQueueDepth() {
+        return journal != null ? (int) (journal.appendedEvents() - journalAppliedEvents) : queue.size();
+    }
+
+    private void appendToJournal(AuditLog auditLog) {
+        long start = System.nanoTime();
+        try {
+            journal.append(auditLog);
+            journalAppendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (IOException e) {
+            // Closed by a concurrent stop(), or the device failed: write it directly rather than lose it
+            log.warn("Audit journal append failed; writing the event directly", e);
+            persist(List.of(auditLog));
+        }
+    }
+
+    private void tailJournal() {
+        int batchSize = properties.getBatchSize();
+        long pollMillis = properties.getPollInterval().toMillis();
+        long lingerMillis = properties.getMaxLinger().toMillis();
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        boolean backOff = false;
+
+        while (running || journalPosition < journal.publishedPosition()) {
+            try {
+                if (backOff) {
+                    Thread.sleep(pollMillis);
+                    backOff = false;
+                }
+                if (!journal.awaitAppend(journalPosition, pollMillis)) {
+                    continue;
+                }
+                if (lingerMillis > 0 && getQueueDepth() < batchSize - 1) {
+                    Thread.sleep(lingerMillis);
+                }
+                long next = journal.read(journalPosition, batchSize, batch);
+                // Nothing is skipped: a batch that fails stays in the journal and is read again
+                if (batch.isEmpty() || applyJournaled(batch, next)) {
+                    journalPosition = next;
+                } else {
+                    backOff = true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Audit journal writer loop failed at position {}", journalPosition, e);
+                backOff = true;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean applyJournaled(List<AuditLog> batch, long position) {
+        long start = System.nanoTime();
+        try {
+            auditLogRepository.preparePartitions(batch);
+            transactionTemplate.executeWithoutResult(status -> auditLogRepository.saveJournaled(batch, position));
+        } catch (Exception e) {
+            log.error("Failed to apply {} journaled audit events at position {}; retrying",
+                    batch.size(), journalPosition, e);
+            return false;
+        }
+        journalAppliedEvents += batch.size();
+        auditLogsChanged(batch);
+        auditStats.record(batch);
+        commitLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+        try {
+            journal.markApplied(position);
+        } catch (IOException e) {
+            log.warn("Failed to release audit journal segments below {}", position, e);
+        }
+        return true;
+    }
+
+    /**
+     * Applies whatever the previous run journaled but did not commit, before requests are accepted. Anything a
+     * failure leaves behind is picked up by the writer thread, which retries until it commits.
+     */
+    private void replayJournal() {
+        long start = System.currentTimeMillis();
+        journalPosition = journal.replayPosition();
+        List<AuditLog> batch = new ArrayList<>(properties.getBatchSize());
+        long replayed = 0;
+        try {
+            while (journalPosition < journal.publishedPosition()) {
+                long next = journal.read(journalPosition, properties.getBatchSize(), batch);
+                if (!batch.isEmpty() && !applyJournaled(batch, next)) {
+                    break;
+                }
+                replayed += batch.size();
+                journalPosition = next;
+                batch.clear();
+            }
+        } catch (IOException e) {
+            log.error("Failed to replay the audit journal from position {}", journalPosition, e);
+        }
+        journalAppliedEvents = 0;
+        if (replayed > 0) {
+            log.info("Replayed {} journaled audit events in {}ms", replayed, System.currentTimeMillis() - start);
+        }
+    }
+
+    private AuditJournal openJournal() {
+        AuditPipelineProperties.Journal settings = properties.getJournal();
+        try {
+            return new AuditJournal(Path.of(settings.getDirectory()), settings.getSegmentSize().toBytes(),
+                    settings.getFsync(), settings.getFsyncInterval(), auditLogRepository.journalCheckpoint());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open audit journal in " + settings.getDirectory(), e);
+        }
+    }
+
+    private void drainLoop() {
+        int batchSize = properties.getBatchSize();
+        long pollMillis = properties.getPollInterval().toMillis();
+        long lingerMillis = properties.getMaxLinger().toMillis();
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditLog first = queue.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpill();
+                    continue;
+                }
+                // Everything that queues up while lingering or while the previous batch commits rides along
+                batch.add(first);
+                if (lingerMillis > 0 && queue.size() < batchSize - 1) {
+                    Thread.sleep(lingerMillis);
+                }
+                queue.drainTo(batch, batchSize - 1);
+                persist(batch);
+            } catch (InterruptedException e) {
+                // stop() interrupts only once the shutdown timeout has elapsed
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Audit writer loop failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void persist(List<AuditLog> batch) {
+        long start = System.nanoTime();
+        try {
+            auditLogRepository.preparePartitions(batch);
+            transactionTemplate.executeWithoutResult(status -> auditLogRepository.saveAll(batch));
+            auditLogsChanged(batch);
+            auditStats.record(batch);
+            commitLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizes.record(batch.size());
+        } catch (Exception e) {
+            log.error("Failed to commit batch of {} audit events", batch.size(), e);
+            if (spillFile != null) {
+                batch.forEach(auditLog -> auditLog.setId(null));
+                spill(batch);
+            } else {
+                failedEvents.increment(batch.size());
+            }
+        }
+    }
+
+    /**
+     * Bumps the audit-log validator unless the batch only records reads of the audit log itself. Those reads are
+     * still stored, but counting them as changes would hand every poller a new ETag on each poll and no 304 ever.
+     */
+    private void auditLogsChanged(List<AuditLog> batch) {
+        if (!batch.stream().allMatch(AuditLogWriter::isAuditLogRead)) {
+            dataVersionTracker.auditLogsChanged();
+        }
+    }
+
+    private static boolean isAuditLogRead(AuditLog auditLog) {
+        return "READ".equals(auditLog.getAction()) && "AuditLog".equals(auditLog.getEntityType());
+    }
+
+    private void spill(List<AuditLog> events) {
+        try {
+            for (AuditLog auditLog : events) {
+                spillFile.append(auditLog);
+            }
+            spilledEvents.increment(events.size());
+        } catch (IOException e) {
+            log.error("Failed to spill {} audit events", events.size(), e);
+            failedEvents.increment(events.size());
+        }
+    }
+
+    private void replaySpill() {
+        if (spillFile == null || !spillFile.hasPending()) {
+            return;
+        }
+        // Only replay into an empty queue so spilled events never starve live traffic
+        if (!queue.isEmpty()) {
+            return;
+        }
+        try {
+            spillFile.drain(properties.getBatchSize(), batch -> {
+                auditLogRepository.preparePartitions(batch);
+                transactionTemplate.executeWithoutResult(status -> auditLogRepository.saveAll(batch));
+                auditLogsChanged(batch);
+                auditStats.record(batch);
+            });
+        } catch (Exception e) {
+            log.error("Failed to replay spilled audit events", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (properties.getJournal().isEnabled()) {
+            journal = openJournal();
+            replayJournal();
+        }
+        running = true;
+        worker = new Thread(journal != null ? this::tailJournal : this::drainLoop, "innov8-audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+        if (journal != null) {
+            log.info("Audit writer started (journal={}, fsync={}, batchSize={})", properties.getJournal().getDirectory(),
+                    properties.getJournal().getFsync(), properties.getBatchSize());
+        } else {
+            log.info("Audit writer started (capacity={}, batchSize={}, backpressure={})",
+                    properties.getQueueCapacity(), properties.getBatchSize(), properties.getBackpressure());
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(properties.getShutdownTimeout().toMillis());
+            if (worker.isAlive()) {
+                worker.interrupt();
+                log.warn("Audit writer did not drain within {}; {} events left unwritten",
+                        properties.getShutdownTimeout(), getQueueDepth());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (journal != null) {
+            try {
+                // Whatever is still unapplied stays in the journal and is replayed at the next start
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Failed to close audit journal", e);
+            }
+        }
+        replaySpill();
+        if (spillFile != null) {
+            try {
+                spillFile.close();
+            } catch (IOException e) {
+                log.warn("Failed to close audit spill file", e);
+            }
+        }
+        log.info("Audit writer stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start before and stop after the embedded web server so in-flight requests can still enqueue.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+}
@@ -0,0 +1,212 @@
+package com.innov8.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innov8.model.AuditLog;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Newline-delimited JSON overflow file used by the SPILL backpressure policy.
+ * Producers append while the writer thread periodically takes the whole file over and replays it.
+ */
+@Slf4j
+class AuditSpillFile {
+
+    private final ObjectMapper objectMapper;
+    private final Path activeFile;
+    private final Path drainingFile;
+    /** Byte offset in the draining file up to which events have been committed. */
+    private final Path offsetFile;
+    /** Lines that could not be parsed, kept for inspection instead of blocking replay. */
+    private final Path rejectedFile;
+    private BufferedWriter writer;
+    private volatile boolean pending;
+
+    AuditSpillFile(ObjectMapper objectMapper, Path directory) {
+        this.objectMapper = objectMapper;
+        this.activeFile = directory.resolve("audit-spill.ndjson");
+        this.drainingFile = directory.resolve("audit-spill.ndjson.draining");
+        this.offsetFile = directory.resolve("audit-spill.ndjson.draining.offset");
+        this.rejectedFile = directory.resolve("audit-spill.ndjson.rejected");
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create audit spill directory " + directory, e);
+        }
+        // Anything left over from a previous run is replayed on the first drain
+        this.pending = Files.exists(activeFile) || Files.exists(drainingFile);
+    }
+
+    synchronized void append(AuditLog auditLog) throws IOException {
+        if (writer == null) {
+            boolean torn = endsMidLine(activeFile);
+            writer = Files.newBufferedWriter(activeFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            if (torn) {
+                // Keep the next event off the line a crash cut short, so only that line is rejected on replay
+                writer.newLine();
+            }
+        }
+        writer.write(objectMapper.writeValueAsString(auditLog));
+        writer.newLine();
+        writer.flush();
+        pending = true;
+    }
+
+    boolean hasPending() {
+        return pending;
+    }
+
+    /**
+     * Replays spilled events in chunks of {@code batchSize}. After each chunk {@code sink} accepts, the byte offset
+     * reached is saved next to the draining file, so a drain that fails, or a restart, resumes after the last
+     * committed chunk instead of inserting it again; only a crash between a commit and saving its offset can
+     * replay that one chunk. Lines that do not parse, such as one left half-written by a crash, are moved to the
+     * rejected file instead of blocking the drain. The file is removed once every line has been handled.
+     */
+    void drain(int batchSize, Consumer<List<AuditLog>> sink) throws IOException {
+        synchronized (this) {
+            if (!Files.exists(drainingFile)) {
+                if (writer != null) {
+                    writer.close();
+                    writer = null;
+                }
+                if (!Files.exists(activeFile)) {
+                    pending = false;
+                    return;
+                }
+                Files.move(activeFile, drainingFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+            pending = false;
+        }
+
+        try {
+            replay(batchSize, sink);
+        } catch (IOException | RuntimeException e) {
+            pending = true;
+            throw e;
+        }
+        Files.delete(drainingFile);
+        Files.deleteIfExists(offsetFile);
+        synchronized (this) {
+            // A resumed draining file left the active one in place; whatever it holds goes on the next drain
+            if (Files.exists(activeFile)) {
+                pending = true;
+            }
+        }
+    }
+
+    private void replay(int batchSize, Consumer<List<AuditLog>> sink) throws IOException {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        List<String> rejected = new ArrayList<>();
+        long offset = readOffset();
+        int replayed = 0;
+        try (FileChannel channel = FileChannel.open(drainingFile, StandardOpenOption.READ);
+             InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(offset)))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long position = offset;
+            int b;
+            while ((b = in.read()) != -1) {
+                position++;
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                String text = line.toString(StandardCharsets.UTF_8);
+                line.reset();
+                if (!text.isBlank()) {
+                    try {
+                        AuditLog auditLog = objectMapper.readValue(text, AuditLog.class);
+                        auditLog.setId(null);
+                        batch.add(auditLog);
+                    } catch (JsonProcessingException e) {
+                        rejected.add(text);
+                    }
+                }
+                if (batch.size() == batchSize) {
+                    replayed += commit(batch, rejected, position, sink);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (line.size() > 0) {
+                // append always ends a line with a newline, so an unterminated last line was torn by a crash
+                rejected.add(line.toString(StandardCharsets.UTF_8));
+            }
+            replayed += commit(batch, rejected, position, sink);
+        }
+        log.info("Replayed {} spilled audit events", replayed);
+    }
+
+    /**
+     * Hands {@code batch} to the sink, then sets aside the lines that could not be parsed and records
+     * {@code position} as replayed.
+     */
+    private int commit(List<AuditLog> batch, List<String> rejected, long position, Consumer<List<AuditLog>> sink)
+            throws IOException {
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+        }
+        if (!rejected.isEmpty()) {
+            log.warn("Moved {} unreadable spilled audit lines to {}", rejected.size(), rejectedFile);
+            Files.write(rejectedFile, rejected, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            rejected.clear();
+        }
+        writeOffset(position);
+        return batch.size();
+    }
+
+    private static boolean endsMidLine(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return false;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            return last.get(0) != '\n';
+        }
+    }
+
+    private long readOffset() throws IOException {
+        if (!Files.exists(offsetFile)) {
+            return 0;
+        }
+        String value = Files.readString(offsetFile, StandardCharsets.UTF_8).trim();
+        return value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+
+    private void writeOffset(long position) throws IOException {
+        Path temporary = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+        Files.writeString(temporary, Long.toString(position), StandardCharsets.UTF_8);
+        Files.move(temporary, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.innov8.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory change counters used as HTTP validators. Every committed write to a data set bumps its counter,
+ * so list endpoints can answer If-None-Match / If-Modified-Since without querying or serializing anything.
+ * The startup epoch is part of each ETag so validators issued before a restart never match afterwards.
+ * Audit events that only record reads of the audit log do not count as changes to it, so polling it can get a 304.
+ * <p>
+ * The ETags are weak: one version stands for every representation of the list (JSON, Smile or CBOR, gzipped or
+ * not), and Tomcat only compresses responses whose validator does not promise byte-for-byte identity.
+ */
+@Component
+public class DataVersionTracker {
+
+    private final long epoch = System.currentTimeMillis();
+    private final Stamp personnel = new Stamp("personnel", epoch);
+    private final Stamp auditLogs = new Stamp("audit", epoch);
+
+    public void personnelChanged() {
+        personnel.bump();
+    }
+
+    public String personnelEtag() {
+        return personnel.etag();
+    }
+
+    public long personnelLastModified() {
+        return personnel.lastModified;
+    }
+
+    public void auditLogsChanged() {
+        auditLogs.bump();
+    }
+
+    public String auditLogsEtag() {
+        return auditLogs.etag();
+    }
+
+    public long auditLogsLastModified() {
+        return auditLogs.lastModified;
+    }
+
+    private static final class Stamp {
+
+        private final String prefix;
+        private final AtomicLong version = new AtomicLong();
+        private volatile long lastModified;
+
+        private Stamp(String name, long epoch) {
+            this.prefix = "W/\"" + name + "-" + Long.toString(epoch, 36) + "-";
+            this.lastModified = epoch;
+        }
+
+        private void bump() {
+            version.incrementAndGet();
+            lastModified = System.currentTimeMillis();
+        }
+
+        private String etag() {
+            return prefix + version.get() + "\"";
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.innov8.service;
+
+import com.innov8.model.Personnel;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA lifecycle hook for Personnel, instantiated by Hibernate through Spring's bean container.
+ * Catches every write path (service, repository, bootstrap) rather than relying on callers to report changes.
+ */
+public class PersonnelChangeListener {
+
+    private final DataVersionTracker dataVersionTracker;
+    private final PersonnelStatsTracker statsTracker;
+    private final PersonnelSearchIndex searchIndex;
+
+    public PersonnelChangeListener(DataVersionTracker dataVersionTracker, PersonnelStatsTracker statsTracker,
+                                   PersonnelSearchIndex searchIndex) {
+        this.dataVersionTracker = dataVersionTracker;
+        this.statsTracker = statsTracker;
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Remembers the counted attributes as loaded, so an update can be counted as a move between groups.
+     */
+    @PostLoad
+    void onLoad(Personnel personnel) {
+        personnel.setStatsKey(statsKey(personnel));
+    }
+
+    // JPA allows one callback per event and class, so each handles every tracker
+
+    @PostPersist
+    void onInsert(Personnel personnel) {
+        statsTracker.changed(null, remember(personnel));
+        searchIndex.indexed(personnel);
+        afterCommit(dataVersionTracker::personnelChanged);
+    }
+
+    @PostUpdate
+    void onUpdate(Personnel personnel) {
+        statsTracker.changed(personnel.getStatsKey(), remember(personnel));
+        searchIndex.indexed(personnel);
+        afterCommit(dataVersionTracker::personnelChanged);
+    }
+
+    @PostRemove
+    void onRemove(Personnel personnel) {
+        PersonnelStatsTracker.Key loaded = personnel.getStatsKey();
+        statsTracker.changed(loaded != null ? loaded : statsKey(personnel), null);
+        personnel.setStatsKey(null);
+        searchIndex.removed(personnel.getId());
+        afterCommit(dataVersionTracker::personnelChanged);
+    }
+
+    private static PersonnelStatsTracker.Key remember(Personnel personnel) {
+        PersonnelStatsTracker.Key key = statsKey(personnel);
+        personnel.setStatsKey(key);
+        return key;
+    }
+
+    private static PersonnelStatsTracker.Key statsKey(Personnel personnel) {
+        return new PersonnelStatsTracker.Key(personnel.getStatus(), personnel.getDepartment(), personnel.getRole());
+    }
+
+    /**
+     * Validators must not move before the data does, or a client could cache pre-commit data under a new ETag.
+     * A bulk transaction touching thousands of rows still registers a single callback.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PersonnelChangeListener.this);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,329 @@
+package com.innov8.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innov8.config.CacheConfig;
+import com.innov8.dto.BulkImportResult;
+import com.innov8.dto.BulkImportResult.Outcome;
+import com.innov8.dto.BulkImportResult.RowFailure;
+import com.innov8.dto.PersonnelDTO;
+import com.innov8.model.Personnel;
+import com.innov8.model.PersonnelStatus;
+import com.innov8.repository.PersonnelRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Streams an NDJSON or CSV body into the personnel table, upserting by email.
+ * <p>
+ * Rows are parsed one line at a time and processed in chunks: each chunk resolves all of its emails with a single
+ * IN query, applies inserts and updates in one transaction, and is flushed as JDBC batches before the persistence
+ * context is cleared. Successful rows are only counted; failed rows are reported with their line and error, up to
+ * {@code innov8.import.max-reported-failures}. Memory therefore depends on the chunk size and that cap, not the
+ * upload size.
+ */
+@Service
+@Timed("innov8.service")
+@Slf4j
+public class PersonnelImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private final PersonnelRepository personnelRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedFailures;
+
+    public PersonnelImportService(PersonnelRepository personnelRepository,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  @Value("${innov8.import.chunk-size:1000}") int chunkSize,
+                                  @Value("${innov8.import.max-reported-failures:1000}") int maxReportedFailures) {
+        this.personnelRepository = personnelRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedFailures = maxReportedFailures;
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PERSONNEL, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PERSONNEL_DIRECTORY, allEntries = true)})
+    public BulkImportResult importPersonnel(InputStream body, Format format) throws IOException {
+        long start = System.currentTimeMillis();
+        Tally tally = new Tally();
+        List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024)) {
+            RowParser parser = format == Format.CSV ? new CsvRowParser(reader.readLine()) : this::parseJson;
+            long lineNumber = format == Format.CSV ? 1 : 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                ParsedRow row = new ParsedRow(lineNumber);
+                try {
+                    row.dto = parser.parse(line);
+                    row.status = validate(row.dto);
+                } catch (Exception e) {
+                    row.error = e.getMessage();
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    applyChunk(chunk, tally);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, tally);
+        }
+
+        BulkImportResult result = BulkImportResult.builder()
+                .created(tally.created)
+                .updated(tally.updated)
+                .unchanged(tally.unchanged)
+                .failed(tally.failed)
+                .elapsedMillis(System.currentTimeMillis() - start)
+                .failures(tally.failures)
+                .build();
+        log.info("Bulk import finished: {} created, {} updated, {} unchanged, {} failed in {}ms",
+                result.getCreated(), result.getUpdated(), result.getUnchanged(), result.getFailed(), result.getElapsedMillis());
+        return result;
+    }
+
+    private void applyChunk(List<ParsedRow> chunk, Tally tally) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> upsert(chunk));
+        } catch (Exception e) {
+            // A constraint violation aborts the whole chunk; report it against every row that was attempted
+            log.warn("Bulk import chunk ending at line {} failed", chunk.get(chunk.size() - 1).line, e);
+            String message = rootMessage(e);
+            for (ParsedRow row : chunk) {
+                if (row.error == null) {
+                    row.error = message;
+                    row.outcome = null;
+                }
+            }
+        } finally {
+            entityManager.clear();
+        }
+
+        for (ParsedRow row : chunk) {
+            if (row.error == null) {
+                tally.count(row.outcome);
+            } else {
+                tally.count(Outcome.FAILED);
+                if (tally.failures.size() < maxReportedFailures) {
+                    tally.failures.add(new RowFailure(row.line, row.dto != null ? row.dto.getEmail() : null, row.error));
+                }
+            }
+        }
+    }
+
+    private void upsert(List<ParsedRow> chunk) {
+        List<String> emails = new ArrayList<>(chunk.size());
+        for (ParsedRow row : chunk) {
+            if (row.error == null) {
+                emails.add(row.dto.getEmail());
+            }
+        }
+
+        // One set-based lookup per chunk instead of one query per row
+        Map<String, Personnel> byEmail = new HashMap<>();
+        for (Personnel existing : personnelRepository.findByEmailIn(emails)) {
+            byEmail.put(existing.getEmail(), existing);
+        }
+
+        for (ParsedRow row : chunk) {
+            if (row.error != null) {
+                continue;
+            }
+            PersonnelDTO dto = row.dto;
+            Personnel personnel = byEmail.get(dto.getEmail());
+            if (personnel == null) {
+                personnel = Personnel.builder()
+                        .name(dto.getName())
+                        .email(dto.getEmail())
+                        .role(dto.getRole())
+                        .department(dto.getDepartment())
+                        .status(row.status)
+                        .build();
+                entityManager.persist(personnel);
+                byEmail.put(dto.getEmail(), personnel);
+                row.outcome = Outcome.CREATED;
+            } else if (sameContent(personnel, dto, row.status)) {
+                row.outcome = Outcome.UNCHANGED;
+            } else {
+                // Managed entity: dirty checking turns these into batched UPDATEs at flush
+                personnel.setName(dto.getName());
+                personnel.setRole(dto.getRole());
+                personnel.setDepartment(dto.getDepartment());
+                personnel.setStatus(row.status);
+                row.outcome = Outcome.UPDATED;
+            }
+        }
+        entityManager.flush();
+    }
+
+    private static boolean sameContent(Personnel personnel, PersonnelDTO dto, PersonnelStatus status) {
+        return Objects.equals(personnel.getName(), dto.getName())
+                && Objects.equals(personnel.getRole(), dto.getRole())
+                && Objects.equals(personnel.getDepartment(), dto.getDepartment())
+                && personnel.getStatus() == status;
+    }
+
+    private static PersonnelStatus validate(PersonnelDTO dto) {
+        requireText(dto.getName(), "name");
+        requireText(dto.getEmail(), "email");
+        requireText(dto.getRole(), "role");
+        requireText(dto.getDepartment(), "department");
+        dto.setEmail(dto.getEmail().trim());
+        if (dto.getStatus() == null || dto.getStatus().isBlank()) {
+            return PersonnelStatus.ACTIVE;
+        }
+        return PersonnelStatus.valueOf(dto.getStatus().trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static void requireText(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing required field: " + field);
+        }
+    }
+
+    private PersonnelDTO parseJson(String line) throws IOException {
+        return objectMapper.readValue(line, PersonnelDTO.class);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private static final class ParsedRow {
+        private final long line;
+        private PersonnelDTO dto;
+        private PersonnelStatus status;
+        private String error;
+        private Outcome outcome;
+
+        private ParsedRow(long line) {
+            this.line = line;
+        }
+    }
+
+    private static final class Tally {
+        private final List<RowFailure> failures = new ArrayList<>();
+        private long created;
+        private long updated;
+        private long unchanged;
+        private long failed;
+
+        private void count(Outcome outcome) {
+            switch (outcome) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                case UNCHANGED -> unchanged++;
+                case FAILED -> failed++;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        PersonnelDTO parse(String line) throws IOException;
+    }
+
+    /**
+     * Header-driven CSV (name,email,role,department[,status] in any order) with RFC 4180 quoting.
+     * Quoted fields may not span lines.
+     */
+    private static final class CsvRowParser implements RowParser {
+
+        private final Map<String, Integer> columns = new LinkedHashMap<>();
+
+        private CsvRowParser(String header) {
+            if (header == null) {
+                throw new IllegalArgumentException("CSV body is missing its header row");
+            }
+            List<String> names = split(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        @Override
+        public PersonnelDTO parse(String line) {
+            List<String> fields = split(line);
+            return PersonnelDTO.builder()
+                    .name(field(fields, "name"))
+                    .email(field(fields, "email"))
+                    .role(field(fields, "role"))
+                    .department(field(fields, "department"))
+                    .status(field(fields, "status"))
+                    .build();
+        }
+
+        private String field(List<String> fields, String name) {
+            Integer index = columns.get(name);
+            return index != null && index < fields.size() ? fields.get(index) : null;
+        }
+
+        private static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            fields.add(current.toString());
+            return fields;
+        }
+    }
+
+}
@@ -0,0 +1,643 @@
+package com.innov8.service;
+
+import com.innov8.config.PersonnelSearchProperties;
+import com.innov8.dto.PersonnelSearchResult;
+import com.innov8.model.Personnel;
+import com.innov8.model.PersonnelStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory inverted index over personnel name, email, role and department for GET /personnel/search.
+ * <p>
+ * Each field has a sorted term dictionary mapping lower-cased word tokens to the sorted ordinals of the people
+ * containing them. A query token matches a term exactly, as a prefix, or within one or two edits (same first
+ * letter); a person's score is the sum over query tokens of the best field-weighted match, and every token must
+ * match. Matching people are counted with bitsets, and only as many are scored as it takes to settle the
+ * requested page (see {@link #collect}), so the cost follows the posting lists touched rather than the table.
+ * <p>
+ * PersonnelChangeListener reports JPA writes; they are applied as one batch per transaction after commit, with
+ * posting arrays replaced copy-on-write so searches never lock. Rows written around JPA (the synthetic seeder)
+ * are picked up by {@link #rebuild()}, which builds a fresh index in parallel at startup.
+ */
+@Component
+@Slf4j
+public class PersonnelSearchIndex {
+
+    enum Field {
+        NAME(3.0f),
+        EMAIL(2.0f),
+        ROLE(1.5f),
+        DEPARTMENT(1.0f);
+
+        private final float weight;
+
+        Field(float weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+    private static final float EXACT = 1.0f;
+    private static final float PREFIX = 0.6f;
+    private static final float FUZZY = 0.4f;
+    private static final int MAX_QUERY_TOKENS = 8;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    /** Worst hit at the head, so the bounded top-k heap can evict it. */
+    private static final Comparator<Scored> WORST_FIRST =
+            Comparator.comparingDouble(Scored::score).thenComparing(Scored::ordinal, Comparator.reverseOrder());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PersonnelSearchProperties properties;
+
+    private final Object writeLock = new Object();
+    private volatile Index index = new Index(16);
+    /** Changes applied while a rebuild is loading, replayed onto the fresh index; guarded by writeLock. */
+    private List<Change> pendingDuringRebuild;
+
+    public PersonnelSearchIndex(JdbcTemplate jdbcTemplate, PersonnelSearchProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Records an insert or update; applied when the surrounding transaction commits.
+     */
+    public void indexed(Personnel personnel) {
+        enqueue(new Change(personnel.getId(), new Doc(personnel.getId(), personnel.getName(), personnel.getEmail(),
+                personnel.getRole(), personnel.getDepartment(), personnel.getStatus())));
+    }
+
+    /**
+     * Records a delete; applied when the surrounding transaction commits.
+     */
+    public void removed(Long id) {
+        enqueue(new Change(id, null));
+    }
+
+    public int size() {
+        return index.ordinals.size();
+    }
+
+    /**
+     * Ranked matches for {@code query}, skipping {@code offset} and returning at most {@code limit}.
+     */
+    public PersonnelSearchResult search(String query, int offset, int limit) {
+        long start = System.nanoTime();
+        if (offset < 0 || limit < 1 || offset + limit > properties.getMaxResultWindow()) {
+            throw new IllegalArgumentException("offset + limit must be between 1 and " + properties.getMaxResultWindow());
+        }
+        Index current = index;
+        List<Token> tokens = new ArrayList<>();
+        for (String text : tokenize(query, MAX_QUERY_TOKENS)) {
+            tokens.add(expand(current, text));
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Query must contain at least one letter or digit");
+        }
+        tokens.sort(Comparator.comparingLong(Token::estimatedSize));
+
+        PriorityQueue<Scored> top = new PriorityQueue<>(offset + limit + 1, WORST_FIRST);
+        long total = tokens.get(0).estimatedSize() == 0 ? 0 : collect(current, tokens, offset + limit, top);
+
+        List<Scored> ranked = new ArrayList<>(top);
+        ranked.sort(WORST_FIRST.reversed());
+        List<PersonnelSearchResult.Hit> items = new ArrayList<>(limit);
+        for (Scored scored : ranked.subList(Math.min(offset, ranked.size()), ranked.size())) {
+            Doc doc = scored.doc();
+            items.add(new PersonnelSearchResult.Hit(doc.id(), doc.name(), doc.email(), doc.role(), doc.department(),
+                    doc.status() != null ? doc.status().name() : null, scored.score()));
+        }
+        return PersonnelSearchResult.builder()
+                .query(query)
+                .total(total)
+                .offset(offset)
+                .limit(limit)
+                .items(items)
+                .tookMicros((System.nanoTime() - start) / 1_000)
+                .build();
+    }
+
+    /**
+     * Replaces the index with one built from the table. Writes that commit meanwhile go to the old index and are
+     * replayed onto the new one; changes are idempotent upserts and deletes, so replaying one that the load
+     * already saw is harmless.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (writeLock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        try {
+            List<Doc> docs = new ArrayList<>();
+            jdbcTemplate.query("SELECT id, name, email, role, department, status FROM personnel ORDER BY id", rs -> {
+                docs.add(new Doc(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                        PersonnelStatus.valueOf(rs.getString(6))));
+            });
+            long loaded = System.currentTimeMillis();
+            Index fresh = build(docs);
+            synchronized (writeLock) {
+                apply(fresh, pendingDuringRebuild);
+                index = fresh;
+            }
+            log.info("Personnel search index rebuilt: {} people, {} terms in {}ms (load {}ms)", docs.size(),
+                    fresh.termCount(), System.currentTimeMillis() - start, loaded - start);
+        } finally {
+            synchronized (writeLock) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Counts the people matching every token and keeps the best {@code window} of them in {@code top}.
+     * <p>
+     * The count comes from intersecting one bitset per token, which costs a pass over the posting lists and
+     * never scores anyone. Ranking then walks the driver token's matches best first, scoring only candidates,
+     * and stops as soon as no remaining match could displace the current worst hit: a broad single-word query
+     * ranks its first few postings and marks the rest.
+     */
+    private long collect(Index current, List<Token> tokens, int window, PriorityQueue<Scored> top) {
+        Doc[] docs = current.docs;
+        long[] candidates = null;
+        for (Token token : tokens) {
+            long[] matched = token.mark(docs.length);
+            if (candidates == null) {
+                candidates = matched;
+            } else {
+                for (int i = 0; i < candidates.length; i++) {
+                    candidates[i] &= matched[i];
+                }
+            }
+        }
+        long total = 0;
+        for (long word : candidates) {
+            total += Long.bitCount(word);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        Token driver = tokens.get(0);
+        List<Token> probes = tokens.subList(1, tokens.size());
+        long[] scored = new long[candidates.length];
+        for (Match match : driver.matches()) {
+            // Same summation order as the real score, so the bound is never below it
+            float ceiling = match.score();
+            for (Token probe : probes) {
+                ceiling += probe.maxScore();
+            }
+            if (top.size() == window && ceiling < top.peek().score()) {
+                break;
+            }
+            for (int ordinal : match.ordinals()) {
+                if (ordinal >= docs.length || !isSet(candidates, ordinal) || isSet(scored, ordinal)) {
+                    continue;
+                }
+                if (top.size() == window && !beats(ceiling, ordinal, top.peek())) {
+                    // Ordinals only grow along a list, so nothing later in it can get in either
+                    break;
+                }
+                scored[ordinal >>> 6] |= 1L << ordinal;
+                Doc doc = docs[ordinal];
+                if (doc == null) {
+                    total--;
+                    continue;
+                }
+                float score = match.score();
+                for (Token probe : probes) {
+                    score += probe.bestScore(ordinal);
+                }
+                if (top.size() < window) {
+                    top.add(new Scored(ordinal, score, doc));
+                } else if (beats(score, ordinal, top.peek())) {
+                    top.poll();
+                    top.add(new Scored(ordinal, score, doc));
+                }
+            }
+        }
+        return total;
+    }
+
+    /** Whether a hit with this score and ordinal ranks above {@code worst}; ties go to the lower ordinal. */
+    private static boolean beats(double score, int ordinal, Scored worst) {
+        return score > worst.score() || (score == worst.score() && ordinal < worst.ordinal());
+    }
+
+    private static boolean isSet(long[] bits, int ordinal) {
+        return (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    /**
+     * Every dictionary term the token can stand for, per field, best match first.
+     */
+    private Token expand(Index current, String text) {
+        List<Match> matches = new ArrayList<>();
+        int maxExpansions = properties.getMaxExpansions();
+        int maxEdits = text.length() >= 8 ? 2 : text.length() >= 4 ? 1 : 0;
+        for (Field field : FIELDS) {
+            NavigableMap<String, Postings> terms = current.terms.get(field);
+            Postings exact = terms.get(text);
+            if (exact != null) {
+                matches.add(new Match(exact.ordinals, field.weight * EXACT));
+            }
+            int expansions = 0;
+            for (Map.Entry<String, Postings> entry : terms.subMap(text, false, text + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansions > maxExpansions) {
+                    break;
+                }
+                // Longer completions rank lower: "ana" is a better hit for "an" than "anjali"
+                float coverage = (float) text.length() / entry.getKey().length();
+                matches.add(new Match(entry.getValue().ordinals, field.weight * (PREFIX + 0.3f * coverage)));
+            }
+            if (maxEdits > 0 && Character.isLetter(text.charAt(0))) {
+                expansions = 0;
+                String first = text.substring(0, 1);
+                for (Map.Entry<String, Postings> entry : terms.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                    String term = entry.getKey();
+                    if (Math.abs(term.length() - text.length()) > maxEdits || term.startsWith(text)) {
+                        continue;
+                    }
+                    if (withinEdits(text, term, maxEdits)) {
+                        matches.add(new Match(entry.getValue().ordinals, field.weight * FUZZY));
+                        if (++expansions >= maxExpansions) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::score).reversed());
+        return new Token(matches, matches.stream().mapToLong(match -> match.ordinals().length).sum());
+    }
+
+    /**
+     * Optimal string alignment distance (edits plus adjacent transpositions) of at most {@code max}, with an
+     * early exit once every cell of a row exceeds it.
+     */
+    static boolean withinEdits(String a, String b, int max) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] row = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            row[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(row[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                row[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return false;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = row;
+            row = recycled;
+        }
+        return previous[b.length()] <= max;
+    }
+
+    /**
+     * Lower-cased runs of letters and digits, de-duplicated, in order of appearance.
+     */
+    static Set<String> tokenize(String text, int limit) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length() && tokens.size() < limit; i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private void enqueue(Change change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyChanges(List.of(change));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.add(change);
+    }
+
+    private void applyChanges(List<Change> changes) {
+        synchronized (writeLock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.addAll(changes);
+            }
+            apply(index, changes);
+        }
+    }
+
+    /**
+     * Applies a batch of changes with one copy-on-write merge per touched posting list, however many people in
+     * the batch share the term. Caller holds writeLock.
+     */
+    private static void apply(Index target, List<Change> changes) {
+        // Per field and term: ordinal -> present after the batch; the last change to a person wins
+        Map<Field, Map<String, Map<Integer, Boolean>>> edits = new HashMap<>();
+        for (Change change : changes) {
+            Integer ordinal = target.ordinals.get(change.id());
+            Doc previous = ordinal != null ? target.docs[ordinal] : null;
+            if (change.doc() == null) {
+                if (ordinal == null) {
+                    continue;
+                }
+                target.ordinals.remove(change.id());
+                target.docs[ordinal] = null;
+                for (Field field : FIELDS) {
+                    for (String term : previous.terms(field)) {
+                        edits.computeIfAbsent(field, f -> new HashMap<>())
+                                .computeIfAbsent(term, t -> new HashMap<>()).put(ordinal, false);
+                    }
+                }
+                continue;
+            }
+            int assigned = ordinal != null ? ordinal : target.allocate(change.id());
+            target.docs[assigned] = change.doc();
+            for (Field field : FIELDS) {
+                Set<String> terms = change.doc().terms(field);
+                if (previous != null) {
+                    for (String term : previous.terms(field)) {
+                        if (!terms.contains(term)) {
+                            edits.computeIfAbsent(field, f -> new HashMap<>())
+                                    .computeIfAbsent(term, t -> new HashMap<>()).put(assigned, false);
+                        }
+                    }
+                }
+                for (String term : terms) {
+                    // Unchanged terms are left alone, so editing a name never rewrites the department's postings
+                    if (previous == null || !previous.terms(field).contains(term)) {
+                        edits.computeIfAbsent(field, f -> new HashMap<>())
+                                .computeIfAbsent(term, t -> new HashMap<>()).put(assigned, true);
+                    }
+                }
+            }
+        }
+
+        edits.forEach((field, byTerm) -> byTerm.forEach((term, presence) -> {
+            NavigableMap<String, Postings> terms = target.terms.get(field);
+            Postings postings = terms.computeIfAbsent(term, t -> new Postings(NO_POSTINGS));
+            int[] merged = merge(postings.ordinals, presence);
+            if (merged.length == 0) {
+                terms.remove(term);
+            } else {
+                postings.ordinals = merged;
+            }
+        }));
+    }
+
+    private static int[] merge(int[] ordinals, Map<Integer, Boolean> presence) {
+        int[] adds = presence.entrySet().stream().filter(Map.Entry::getValue)
+                .mapToInt(Map.Entry::getKey).sorted().toArray();
+        int[] removes = presence.entrySet().stream().filter(entry -> !entry.getValue())
+                .mapToInt(Map.Entry::getKey).sorted().toArray();
+        int[] merged = new int[ordinals.length + adds.length];
+        int size = 0;
+        int a = 0;
+        int r = 0;
+        for (int ordinal : ordinals) {
+            while (a < adds.length && adds[a] < ordinal) {
+                merged[size++] = adds[a++];
+            }
+            if (a < adds.length && adds[a] == ordinal) {
+                a++;
+            }
+            while (r < removes.length && removes[r] < ordinal) {
+                r++;
+            }
+            if (r < removes.length && removes[r] == ordinal) {
+                continue;
+            }
+            merged[size++] = ordinal;
+        }
+        while (a < adds.length) {
+            merged[size++] = adds[a++];
+        }
+        return size == merged.length ? merged : Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * Builds an index over {@code docs} (sorted by id) in parallel: each range of ordinals is tokenized into its
+     * own per-field posting lists, and the ranges are concatenated in order, so every list comes out sorted.
+     */
+    private Index build(List<Doc> docs) {
+        Index built = new Index(Math.max(16, docs.size() + docs.size() / 4));
+        for (Doc doc : docs) {
+            built.docs[built.allocate(doc.id())] = doc;
+        }
+        int parallelism = Math.max(1, properties.getRebuildParallelism());
+        int ranges = Math.max(1, Math.min(parallelism * 4, docs.size() / 10_000));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Map<Field, Map<String, IntList>>> partials = pool.submit(() -> IntStream.range(0, ranges).parallel()
+                    .mapToObj(range -> postingsFor(built.docs, docs.size() * range / ranges,
+                            docs.size() * (range + 1) / ranges))
+                    .toList()).join();
+            pool.submit(() -> Arrays.stream(FIELDS).parallel().forEach(field -> {
+                Map<String, IntList> combined = new HashMap<>();
+                for (Map<Field, Map<String, IntList>> partial : partials) {
+                    partial.get(field).forEach((term, ordinals) ->
+                            combined.computeIfAbsent(term, t -> new IntList()).addAll(ordinals));
+                }
+                NavigableMap<String, Postings> terms = built.terms.get(field);
+                combined.entrySet().stream()
+                        .sorted(Map.Entry.comparingByKey())
+                        .forEachOrdered(entry -> terms.put(entry.getKey(), new Postings(entry.getValue().toArray())));
+            })).join();
+        } finally {
+            pool.shutdown();
+        }
+        return built;
+    }
+
+    private static Map<Field, Map<String, IntList>> postingsFor(Doc[] docs, int from, int to) {
+        Map<Field, Map<String, IntList>> postings = new HashMap<>();
+        for (Field field : FIELDS) {
+            Map<String, IntList> terms = new HashMap<>();
+            for (int ordinal = from; ordinal < to; ordinal++) {
+                for (String term : docs[ordinal].terms(field)) {
+                    terms.computeIfAbsent(term, t -> new IntList()).add(ordinal);
+                }
+            }
+            postings.put(field, terms);
+        }
+        return postings;
+    }
+
+    record Doc(long id, String name, String email, String role, String department, PersonnelStatus status) {
+
+        Set<String> terms(Field field) {
+            return tokenize(switch (field) {
+                case NAME -> name;
+                case EMAIL -> email;
+                case ROLE -> role;
+                case DEPARTMENT -> department;
+            }, Integer.MAX_VALUE);
+        }
+    }
+
+    private record Change(Long id, Doc doc) {
+    }
+
+    private record Match(int[] ordinals, float score) {
+    }
+
+    private record Scored(int ordinal, double score, Doc doc) {
+    }
+
+    private record Token(List<Match> matches, long estimatedSize) {
+
+        float maxScore() {
+            return matches.isEmpty() ? 0 : matches.get(0).score();
+        }
+
+        /** Everyone the token matches, as a bitset over ordinals below {@code capacity}. */
+        long[] mark(int capacity) {
+            long[] bits = new long[(capacity + 63) >>> 6];
+            for (Match match : matches) {
+                for (int ordinal : match.ordinals()) {
+                    if (ordinal < capacity) {
+                        bits[ordinal >>> 6] |= 1L << ordinal;
+                    }
+                }
+            }
+            return bits;
+        }
+
+        /** Matches are sorted best first, so the first list containing the ordinal gives its score. */
+        float bestScore(int ordinal) {
+            for (Match match : matches) {
+                if (Arrays.binarySearch(match.ordinals(), ordinal) >= 0) {
+                    return match.score();
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static final class Postings {
+
+        /** Sorted ordinals; replaced, never mutated, so readers can use whatever array they saw. */
+        private volatile int[] ordinals;
+
+        private Postings(int[] ordinals) {
+            this.ordinals = ordinals;
+        }
+    }
+
+    /**
+     * Dense ordinals stand in for ids in the posting lists: four bytes each and sortable without boxing.
+     * Ordinals of deleted people are not reused.
+     */
+    private static final class Index {
+
+        private final Map<Field, NavigableMap<String, Postings>> terms = new HashMap<>();
+        private final Map<Long, Integer> ordinals = new ConcurrentHashMap<>();
+        private volatile Doc[] docs;
+        private int nextOrdinal;
+
+        private Index(int capacity) {
+            for (Field field : FIELDS) {
+                terms.put(field, new ConcurrentSkipListMap<>());
+            }
+            docs = new Doc[capacity];
+        }
+
+        private int allocate(long id) {
+            if (nextOrdinal == docs.length) {
+                docs = Arrays.copyOf(docs, docs.length * 2);
+            }
+            ordinals.put(id, nextOrdinal);
+            return nextOrdinal++;
+        }
+
+        private long termCount() {
+            return terms.values().stream().mapToLong(Map::size).sum();
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private void addAll(IntList other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, values.length * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<Change> changes = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            applyChanges(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PersonnelSearchIndex.this);
+        }
+    }
+
+}
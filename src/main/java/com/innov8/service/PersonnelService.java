@@ -1,101 +1,134 @@
 package com.innov8.service;
 
+import com.innov8.config.CacheConfig;
+import com.innov8.dto.PersonnelDTO;
+import com.innov8.dto.PersonnelSearchResult;
+import com.innov8.exception.PreconditionFailedException;
 import com.innov8.model.Personnel;
-import com.innov8.model.PersonnelStatus;
 import com.innov8.repository.PersonnelRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.slf4j.MDC;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Every public method is timed as innov8.service (see MetricsConfig); latency is not logged or put in the MDC.
+ */
 @Service
+@Timed("innov8.service")
 @RequiredArgsConstructor
 @Slf4j
 public class PersonnelService {
 
     private final PersonnelRepository personnelRepository;
+    private final PersonnelSearchIndex searchIndex;
 
-    public List<Personnel> getAllPersonnel() {
-        long startTime = System.currentTimeMillis();
-        
-        // Simulate jitter: 10% of requests take an extra 1000ms
-        if (Math.random() < 0.10) {
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
-
-        List<Personnel> personnel = personnelRepository.findAll();
-        long executionTime = System.currentTimeMillis() - startTime;
+    /**
+     * Cached as a single directory entry; any write evicts it. Latency jitter for GET /personnel now comes from the
+     * fault-injection rules (innov8.chaos.rules), applied per request before the cache is consulted.
+     */
+    @Cacheable(cacheNames = CacheConfig.PERSONNEL_DIRECTORY, key = "'all'")
+    public List<PersonnelDTO> getAllPersonnel() {
+        List<PersonnelDTO> personnel = personnelRepository.findAllDtos();
 
         MDC.put("status", "SUCCESS");
-        MDC.put("executionTime", String.valueOf(executionTime));
-        log.info("Retrieved {} personnel records in {}ms", personnel.size(), executionTime);
+        log.info("Retrieved {} personnel records", personnel.size());
 
         return personnel;
     }
 
-    public Optional<Personnel> getPersonnelById(Long id) {
-        long startTime = System.currentTimeMillis();
-        
-        Optional<Personnel> personnel = personnelRepository.findById(id);
-        long executionTime = System.currentTimeMillis() - startTime;
+    /**
+     * Ranked full-text search over name, email, role and department, answered from the in-memory index.
+     */
+    public PersonnelSearchResult search(String query, int offset, int limit) {
+        PersonnelSearchResult result = searchIndex.search(query, offset, limit);
+        log.info("Search '{}' matched {} personnel in {}us", query, result.getTotal(), result.getTookMicros());
+        return result;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PERSONNEL, key = "#id", unless = "#result == null")
+    public Optional<PersonnelDTO> getPersonnelById(Long id) {
+        Optional<PersonnelDTO> personnel = personnelRepository.findDtoById(id);
 
         MDC.put("status", personnel.isPresent() ? "SUCCESS" : "NOT_FOUND");
-        MDC.put("executionTime", String.valueOf(executionTime));
         log.info("Retrieved personnel with id: {}", id);
 
         return personnel;
     }
 
+    /**
+     * The new record is not put in the cache: reads cache DTOs, and its first GET loads one.
+     */
+    @CacheEvict(cacheNames = CacheConfig.PERSONNEL_DIRECTORY, allEntries = true)
     public Personnel createPersonnel(Personnel personnel) {
-        long startTime = System.currentTimeMillis();
-
         Personnel saved = personnelRepository.save(personnel);
-        long executionTime = System.currentTimeMillis() - startTime;
 
         MDC.put("status", "CREATED");
-        MDC.put("executionTime", String.valueOf(executionTime));
         log.info("Created new personnel: {}", saved.getId());
 
         return saved;
     }
 
-    public Personnel updatePersonnel(Long id, Personnel personnelUpdate) {
-        long startTime = System.currentTimeMillis();
-
+    /**
+     * Applies {@code personnelUpdate} to record {@code id}. An {@code ifMatch} header that does not match the
+     * record's current ETag fails the precondition; otherwise a stale {@code expectedVersion} (from the request body)
+     * is a conflict. The @Version column still guards the window between these checks and the flush.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PERSONNEL, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PERSONNEL_DIRECTORY, allEntries = true)})
+    public Personnel updatePersonnel(Long id, Personnel personnelUpdate, String ifMatch, Long expectedVersion) {
         Optional<Personnel> existing = personnelRepository.findById(id);
         
         if (existing.isEmpty()) {
             MDC.put("status", "NOT_FOUND");
             log.warn("Personnel not found for update: {}", id);
+            if (ifMatch != null) {
+                // Not even "*" matches a record that does not exist
+                throw new PreconditionFailedException("If-Match cannot match: personnel " + id + " does not exist");
+            }
             throw new RuntimeException("Personnel not found");
         }
 
         Personnel personnel = existing.get();
+        if (ifMatch != null && !PersonnelDTO.matchesIfMatch(ifMatch, id, personnel.getVersion())) {
+            MDC.put("status", "PRECONDITION_FAILED");
+            log.warn("If-Match {} does not match personnel {} at version {}", ifMatch, id, personnel.getVersion());
+            throw new PreconditionFailedException("If-Match does not match the current ETag of personnel " + id);
+        }
+        if (ifMatch == null && expectedVersion != null && !expectedVersion.equals(personnel.getVersion())) {
+            MDC.put("status", "CONFLICT");
+            log.warn("Stale update for personnel {}: expected version {}, current {}", id, expectedVersion, personnel.getVersion());
+            throw new ObjectOptimisticLockingFailureException(Personnel.class, id);
+        }
+
         personnel.setName(personnelUpdate.getName());
         personnel.setEmail(personnelUpdate.getEmail());
         personnel.setRole(personnelUpdate.getRole());
         personnel.setDepartment(personnelUpdate.getDepartment());
-        personnel.setStatus(personnelUpdate.getStatus());
+        if (personnelUpdate.getStatus() != null) {
+            personnel.setStatus(personnelUpdate.getStatus());
+        }
 
         Personnel updated = personnelRepository.save(personnel);
-        long executionTime = System.currentTimeMillis() - startTime;
 
         MDC.put("status", "UPDATED");
-        MDC.put("executionTime", String.valueOf(executionTime));
         log.info("Updated personnel: {}", id);
 
         return updated;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PERSONNEL, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PERSONNEL_DIRECTORY, allEntries = true)})
     public void deletePersonnel(Long id) {
-        long startTime = System.currentTimeMillis();
-
         if (!personnelRepository.existsById(id)) {
             MDC.put("status", "NOT_FOUND");
             log.warn("Personnel not found for deletion: {}", id);
@@ -103,15 +136,13 @@ public class PersonnelService {
         }
 
         personnelRepository.deleteById(id);
-        long executionTime = System.currentTimeMillis() - startTime;
 
         MDC.put("status", "DELETED");
-        MDC.put("executionTime", String.valueOf(executionTime));
         log.info("Deleted personnel: {}", id);
     }
 
-    public List<Personnel> getInactivePersonnel() {
-        return personnelRepository.findByStatus(PersonnelStatus.INACTIVE);
+    public Optional<Long> getPersonnelVersion(Long id) {
+        return personnelRepository.findVersionById(id);
     }
 
 }
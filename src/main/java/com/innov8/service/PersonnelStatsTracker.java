@@ -0,0 +1,201 @@
+package com.innov8.service;
+
+import com.innov8.dto.PersonnelStats;
+import com.innov8.model.PersonnelStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Personnel headcounts by (status, department, role), kept current by PersonnelChangeListener.
+ * <p>
+ * Each transaction collects its row deltas and applies them once, after commit, so rolled-back writes never show.
+ * Reads add up one counter per distinct (status, department, role), never per row. Writes that bypass JPA (the
+ * synthetic seeder's JDBC batches, manual SQL) are picked up by {@link #reconcile()}, which replaces the counters
+ * with a GROUP BY over the table at startup and on a schedule.
+ */
+@Component
+@Slf4j
+public class PersonnelStatsTracker {
+
+    private static final String AGGREGATE =
+            "SELECT status, department, role, COUNT(*) FROM personnel GROUP BY status, department, role";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Key, AtomicLong> counts = new ConcurrentHashMap<>();
+    private final Map<PersonnelStatus, AtomicLong> statusCounts = new ConcurrentHashMap<>();
+
+    /** Open transactions holding an unapplied delta; reconciliation waits until there are none. */
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong appliedBatches = new AtomicLong();
+    private volatile LocalDateTime reconciledAt;
+
+    public PersonnelStatsTracker(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (PersonnelStatus status : PersonnelStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            statusCounts.put(status, count);
+            Gauge.builder("innov8.personnel.count", count, AtomicLong::get)
+                    .description("Personnel records by status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Records that a row moved from {@code before} to {@code after}; null for insert and delete respectively.
+     */
+    public void changed(Key before, Key after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        Map<Key, Long> delta = new HashMap<>(2);
+        if (before != null) {
+            delta.merge(before, -1L, Long::sum);
+        }
+        if (after != null) {
+            delta.merge(after, 1L, Long::sum);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(delta);
+            return;
+        }
+        PendingDelta pending = (PendingDelta) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingDelta();
+            inFlight.incrementAndGet();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        PendingDelta target = pending;
+        delta.forEach((key, change) -> target.delta.merge(key, change, Long::sum));
+    }
+
+    public long count(PersonnelStatus status) {
+        return statusCounts.get(status).get();
+    }
+
+    public PersonnelStats snapshot() {
+        Map<String, Long> byStatus = new TreeMap<>();
+        Map<String, Long> byDepartment = new TreeMap<>();
+        Map<String, Long> byRole = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<Key, AtomicLong> entry : counts.entrySet()) {
+            long count = entry.getValue().get();
+            if (count == 0) {
+                continue;
+            }
+            Key key = entry.getKey();
+            byStatus.merge(key.status().name(), count, Long::sum);
+            byDepartment.merge(key.department(), count, Long::sum);
+            byRole.merge(key.role(), count, Long::sum);
+            total += count;
+        }
+        return PersonnelStats.builder()
+                .total(total)
+                .byStatus(byStatus)
+                .byDepartment(byDepartment)
+                .byRole(byRole)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    /**
+     * Replaces the counters with a SQL aggregate and logs any drift. Skipped, and retried on the next run, when a
+     * write committed while the aggregate was being read, since its delta may or may not be in the result.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${innov8.personnel-stats.reconcile-interval:PT5M}",
+            initialDelayString = "${innov8.personnel-stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        long batchesBefore = appliedBatches.get();
+        if (inFlight.get() > 0) {
+            log.debug("Personnel stats reconciliation deferred: writes in flight");
+            return;
+        }
+
+        Map<Key, Long> actual = new HashMap<>();
+        jdbcTemplate.query(AGGREGATE, rs -> {
+            actual.put(new Key(PersonnelStatus.valueOf(rs.getString(1)), rs.getString(2), rs.getString(3)), rs.getLong(4));
+        });
+
+        synchronized (this) {
+            if (inFlight.get() > 0 || appliedBatches.get() != batchesBefore) {
+                log.debug("Personnel stats reconciliation deferred: writes committed during the aggregate");
+                return;
+            }
+            // Set in place rather than swapping maps, so concurrent readers never see an empty directory
+            long drift = 0;
+            Map<PersonnelStatus, Long> byStatus = new HashMap<>();
+            for (Key key : union(actual, counts)) {
+                long expected = actual.getOrDefault(key, 0L);
+                long current = counts.computeIfAbsent(key, k -> new AtomicLong()).getAndSet(expected);
+                drift += Math.abs(expected - current);
+                byStatus.merge(key.status(), expected, Long::sum);
+            }
+            statusCounts.forEach((status, count) -> count.set(byStatus.getOrDefault(status, 0L)));
+            reconciledAt = LocalDateTime.now();
+
+            if (drift > 0) {
+                log.info("Personnel stats reconciled: corrected drift of {} across {} groups", drift, actual.size());
+            }
+        }
+    }
+
+    private synchronized void apply(Map<Key, Long> delta) {
+        delta.forEach((key, change) -> {
+            if (change != 0) {
+                counts.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(change);
+                statusCounts.get(key.status()).addAndGet(change);
+            }
+        });
+        appliedBatches.incrementAndGet();
+    }
+
+    private static Set<Key> union(Map<Key, ?> a, Map<Key, ?> b) {
+        Set<Key> keys = new HashSet<>(a.keySet());
+        keys.addAll(b.keySet());
+        return keys;
+    }
+
+    /**
+     * The counted attributes of one personnel row.
+     */
+    public record Key(PersonnelStatus status, String department, String role) {
+    }
+
+    private final class PendingDelta implements TransactionSynchronization {
+
+        private final Map<Key, Long> delta = new HashMap<>();
+
+        @Override
+        public void afterCommit() {
+            apply(delta);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PersonnelStatsTracker.this);
+            inFlight.decrementAndGet();
+        }
+    }
+
+}
@@ -1,58 +1,89 @@
 package com.innov8.service;
 
-import com.innov8.model.PersonnelStatus;
-import lombok.RequiredArgsConstructor;
+import com.innov8.chaos.FaultInjector;
+import com.innov8.logging.CorrelationIds;
+import com.innov8.logging.MdcScope;
+import com.innov8.model.SecurityFindingType;
+import com.innov8.model.SecurityScanRun;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.slf4j.MDC;
-import com.innov8.repository.PersonnelRepository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class SecurityAuditService {
 
-    private final PersonnelRepository personnelRepository;
+    /**
+     * Fault-injection point for the simulated scan duration (innov8.chaos.rules.security-scan).
+     */
+    public static final String DEEP_SCAN_POINT = "security-scan";
+
+    private final SecurityScanEngine scanEngine;
+    private final FaultInjector faultInjector;
+    private final Executor taskExecutor;
+
+    public SecurityAuditService(SecurityScanEngine scanEngine,
+                                FaultInjector faultInjector,
+                                @Qualifier("taskExecutor") Executor taskExecutor) {
+        this.scanEngine = scanEngine;
+        this.faultInjector = faultInjector;
+        this.taskExecutor = taskExecutor;
+    }
 
     /**
      * Simulates a deep security scan that runs asynchronously.
      * This will be visible in APM traces with longer execution times.
+     * <p>
+     * The simulated scan time is an injected delay served by the fault-injection scheduler, so no executor thread
+     * waits through it. The scan itself is incremental (see SecurityScanEngine) and starts from taskExecutor.
      */
-    @Async("taskExecutor")
-    public void runDeepScan() {
+    public CompletableFuture<Void> runDeepScan() {
         long startTime = System.currentTimeMillis();
-        String scanId = java.util.UUID.randomUUID().toString();
-
-        MDC.put("scanId", scanId);
-        MDC.put("action", "SECURITY_SCAN");
-        MDC.put("status", "IN_PROGRESS");
+        String scanId = CorrelationIds.next();
 
-        log.info("Starting deep security scan: {}", scanId);
+        // Keeps the caller's context (jobId, correlationId); the injector and the executor's MdcTaskDecorator carry it on
+        try (MdcScope mdc = MdcScope.open()
+                .put("scanId", scanId)
+                .put("action", "SECURITY_SCAN")
+                .put("status", "IN_PROGRESS")) {
 
-        try {
-            // Simulate CPU-intensive work: random sleep between 2-5 seconds
-            long sleepDuration = 2000 + (long) (Math.random() * 3000);
-            Thread.sleep(sleepDuration);
+            log.info("Starting deep security scan: {}", scanId);
 
-            log.debug("Deep scan processing took {}ms", sleepDuration);
+            return faultInjector.inject(DEEP_SCAN_POINT)
+                    .thenRunAsync(() -> scan(scanId, startTime), taskExecutor)
+                    .exceptionally(failure -> {
+                        try (MdcScope failed = MdcScope.open().put("status", "FAILED")) {
+                            log.error("Deep scan failed: {}", scanId, failure);
+                        }
+                        return null;
+                    });
+        }
+    }
 
-            // Perform some operations
-            int inactiveCount = personnelRepository.findByStatus(PersonnelStatus.INACTIVE).size();
-            
-            long executionTime = System.currentTimeMillis() - startTime;
-            MDC.put("status", "COMPLETED");
-            MDC.put("executionTime", String.valueOf(executionTime));
-            MDC.put("inactiveCount", String.valueOf(inactiveCount));
+    private void scan(String scanId, long startTime) {
+        Optional<SecurityScanRun> run = scanEngine.scan(scanId);
+        if (run.isEmpty()) {
+            return;
+        }
+        Map<SecurityFindingType, Long> openFindings = scanEngine.openFindingsByType();
+        long inactiveCount = openFindings.get(SecurityFindingType.INACTIVE_ACCOUNT);
 
-            log.info("Deep security scan completed: {} - Found {} inactive personnel", scanId, inactiveCount);
+        long executionTime = System.currentTimeMillis() - startTime;
+        try (MdcScope mdc = MdcScope.open()
+                .put("status", "COMPLETED")
+                .put("executionTime", String.valueOf(executionTime))
+                .put("inactiveCount", String.valueOf(inactiveCount))
+                .put("rowsExamined", String.valueOf(run.get().getRowsExamined()))) {
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            MDC.put("status", "INTERRUPTED");
-            log.error("Deep scan interrupted: {}", scanId, e);
-        } finally {
-            MDC.clear();
+            log.info("Deep security scan completed: {} - examined {} changed rows in {} chunks, {} raised, {} resolved, "
+                            + "open findings {} - Found {} inactive personnel",
+                    scanId, run.get().getRowsExamined(), run.get().getChunks(), run.get().getFindingsRaised(),
+                    run.get().getFindingsResolved(), openFindings, inactiveCount);
         }
     }
 
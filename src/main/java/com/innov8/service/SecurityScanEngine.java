@@ -0,0 +1,332 @@
+package com.innov8.service;
+
+import com.innov8.config.SecurityScanProperties;
+import com.innov8.logging.MdcScope;
+import com.innov8.model.PersonnelStatus;
+import com.innov8.model.SecurityFindingType;
+import com.innov8.model.SecurityScanRun;
+import com.innov8.model.SecurityScanStatus;
+import com.innov8.repository.SecurityFindingRepository;
+import com.innov8.repository.SecurityScanRunRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Incremental security scan over the personnel directory.
+ * <p>
+ * Each run examines only rows whose updatedAt falls in (last completed watermark, now - lag], so its cost follows
+ * the rate of change rather than the directory size. PENDING rows whose createdAt crossed pendingReviewAfter in
+ * the same window are examined too, so an account left untouched is still reported once it becomes stale. The changed ids are split into ID-ranged chunks of
+ * {@code chunkSize} rows, evaluated in parallel on a fork/join pool; each chunk reconciles the open findings of its
+ * rows in its own transaction. Findings and runs are persisted, and a run only moves the watermark once every chunk
+ * has committed, so a failed run is retried in full by the next one.
+ * <p>
+ * Runs wait for ApplicationReadyEvent: startup seeding can insert rows with historical updatedAt values, which
+ * an earlier run would have stepped over.
+ */
+@Service
+@Slf4j
+public class SecurityScanEngine implements DisposableBean {
+
+    private static final String SELECT_CHANGED_IDS =
+            "SELECT id FROM personnel WHERE updated_at > :from AND updated_at <= :to " +
+            "UNION " +
+            "SELECT id FROM personnel WHERE status = 'PENDING' AND created_at > :staleFrom AND created_at <= :staleTo " +
+            "ORDER BY id";
+
+    private static final String SELECT_CHUNK =
+            "SELECT id, email, status, created_at FROM personnel " +
+            "WHERE id BETWEEN :first AND :last AND (updated_at > :from AND updated_at <= :to " +
+            "OR status = 'PENDING' AND created_at > :staleFrom AND created_at <= :staleTo)";
+
+    private static final String SELECT_OPEN_FINDINGS =
+            "SELECT personnel_id, type FROM security_findings WHERE personnel_id IN (:ids)";
+
+    private static final String INSERT_FINDING =
+            "INSERT INTO security_findings (id, personnel_id, type, detail, detected_at, scan_id) " +
+            "VALUES (NEXT VALUE FOR security_findings_seq, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_FINDING =
+            "DELETE FROM security_findings WHERE personnel_id = ? AND type = ?";
+
+    /** Lower bound for the first run; earlier than any updatedAt. */
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final SecurityScanProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SecurityScanRunRepository scanRunRepository;
+    private final SecurityFindingRepository findingRepository;
+    private final ForkJoinPool pool;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public SecurityScanEngine(SecurityScanProperties properties,
+                              JdbcTemplate jdbcTemplate,
+                              NamedParameterJdbcTemplate namedJdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              SecurityScanRunRepository scanRunRepository,
+                              SecurityFindingRepository findingRepository) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scanRunRepository = scanRunRepository;
+        this.findingRepository = findingRepository;
+        this.pool = new ForkJoinPool(properties.getParallelism(), pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("innov8-scan-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ready = true;
+    }
+
+    /**
+     * Scans the rows changed since the last completed run. Returns empty when the application is still starting
+     * or another run is in progress.
+     */
+    public Optional<SecurityScanRun> scan(String scanId) {
+        if (!ready || !running.compareAndSet(false, true)) {
+            log.info("Security scan {} skipped: {}", scanId, ready ? "previous run still in progress" : "application not ready");
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(runScan(scanId));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private SecurityScanRun runScan(String scanId) {
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime from = scanRunRepository.findFirstByStatusOrderByWatermarkToDesc(SecurityScanStatus.COMPLETED)
+                .map(SecurityScanRun::getWatermarkTo)
+                .orElse(null);
+        LocalDateTime to = startedAt.minus(properties.getWatermarkLag());
+
+        SecurityScanRun run = scanRunRepository.save(SecurityScanRun.builder()
+                .scanId(scanId)
+                .status(SecurityScanStatus.RUNNING)
+                .watermarkFrom(from)
+                .watermarkTo(to)
+                .startedAt(startedAt)
+                .build());
+
+        try {
+            Window window = new Window(from != null ? from : BEGINNING, to, properties.getPendingReviewAfter());
+            long[] ids;
+            try (var stream = namedJdbcTemplate.queryForStream(SELECT_CHANGED_IDS, window.params(),
+                    (rs, rowNum) -> rs.getLong(1))) {
+                ids = stream.mapToLong(Long::longValue).toArray();
+            }
+
+            ChunkResult result = ids.length == 0
+                    ? ChunkResult.EMPTY
+                    : pool.invoke(new ChunkTask(scanId, window, ids, 0, ids.length, MDC.getCopyOfContextMap()));
+
+            run.setStatus(SecurityScanStatus.COMPLETED);
+            run.setRowsExamined(result.rows());
+            run.setChunks(result.chunks());
+            run.setFindingsRaised(result.raised());
+            run.setFindingsResolved(result.resolved());
+            run.setOpenFindings(openFindingsByType().values().stream().mapToLong(Long::longValue).sum());
+        } catch (RuntimeException e) {
+            run.setStatus(SecurityScanStatus.FAILED);
+            throw e;
+        } finally {
+            run.setCompletedAt(LocalDateTime.now());
+            run.setExecutionTime(System.currentTimeMillis() - start);
+            scanRunRepository.save(run);
+        }
+        return run;
+    }
+
+    /**
+     * Open findings per type across the whole directory.
+     */
+    public Map<SecurityFindingType, Long> openFindingsByType() {
+        Map<SecurityFindingType, Long> counts = new EnumMap<>(SecurityFindingType.class);
+        for (SecurityFindingType type : SecurityFindingType.values()) {
+            counts.put(type, 0L);
+        }
+        for (Object[] row : findingRepository.countByTypeGrouped()) {
+            counts.put((SecurityFindingType) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    /**
+     * Evaluates one chunk of changed rows and brings their stored findings in line, in one transaction.
+     */
+    private ChunkResult scanChunk(String scanId, Window window, long[] ids, int fromIndex, int toIndex) {
+        return transactionTemplate.execute(status -> {
+            MapSqlParameterSource params = window.params()
+                    .addValue("first", ids[fromIndex])
+                    .addValue("last", ids[toIndex - 1]);
+
+            Map<Long, Map<SecurityFindingType, String>> expected = new HashMap<>();
+            namedJdbcTemplate.query(SELECT_CHUNK, params, rs -> {
+                expected.put(rs.getLong("id"), evaluate(rs.getString("email"),
+                        PersonnelStatus.valueOf(rs.getString("status")),
+                        rs.getTimestamp("created_at").toLocalDateTime(), window.staleTo()));
+            });
+            if (expected.isEmpty()) {
+                return new ChunkResult(0, 1, 0, 0);
+            }
+
+            Set<Finding> existing = new HashSet<>();
+            namedJdbcTemplate.query(SELECT_OPEN_FINDINGS, new MapSqlParameterSource("ids", expected.keySet()), rs -> {
+                existing.add(new Finding(rs.getLong("personnel_id"), SecurityFindingType.valueOf(rs.getString("type"))));
+            });
+
+            List<Object[]> inserts = new ArrayList<>();
+            Timestamp detectedAt = Timestamp.valueOf(LocalDateTime.now());
+            expected.forEach((personnelId, findings) -> findings.forEach((type, detail) -> {
+                if (!existing.remove(new Finding(personnelId, type))) {
+                    inserts.add(new Object[]{personnelId, type.name(), detail, detectedAt, scanId});
+                }
+            }));
+            // What is left in existing is no longer reported
+            List<Object[]> deletes = existing.stream()
+                    .map(finding -> new Object[]{finding.personnelId(), finding.type().name()})
+                    .toList();
+
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_FINDING, inserts);
+            }
+            if (!deletes.isEmpty()) {
+                jdbcTemplate.batchUpdate(DELETE_FINDING, deletes);
+            }
+            return new ChunkResult(expected.size(), 1, inserts.size(), deletes.size());
+        });
+    }
+
+    /**
+     * {@code staleBefore} is the window's own threshold rather than now, so a PENDING row turns stale in exactly the
+     * run whose window its createdAt crosses.
+     */
+    private Map<SecurityFindingType, String> evaluate(String email, PersonnelStatus status, LocalDateTime createdAt,
+                                                      LocalDateTime staleBefore) {
+        Map<SecurityFindingType, String> findings = new EnumMap<>(SecurityFindingType.class);
+        if (status == PersonnelStatus.INACTIVE) {
+            findings.put(SecurityFindingType.INACTIVE_ACCOUNT, "Inactive account still present in the directory");
+        }
+        if (!email.toLowerCase(Locale.ROOT).endsWith("@" + properties.getCorporateDomain())) {
+            findings.put(SecurityFindingType.EXTERNAL_EMAIL, "Email outside " + properties.getCorporateDomain());
+        }
+        if (status == PersonnelStatus.PENDING && !createdAt.isAfter(staleBefore)) {
+            findings.put(SecurityFindingType.STALE_PENDING, "Pending since " + createdAt.toLocalDate());
+        }
+        return findings;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * (from, to] over updatedAt, and the same window shifted back by pendingReviewAfter over a PENDING row's
+     * createdAt: the rows that became stale since the previous run.
+     */
+    private record Window(LocalDateTime from, LocalDateTime to, Duration pendingReviewAfter) {
+
+        LocalDateTime staleFrom() {
+            return from.minus(pendingReviewAfter);
+        }
+
+        LocalDateTime staleTo() {
+            return to.minus(pendingReviewAfter);
+        }
+
+        MapSqlParameterSource params() {
+            return new MapSqlParameterSource()
+                    .addValue("from", Timestamp.valueOf(from))
+                    .addValue("to", Timestamp.valueOf(to))
+                    .addValue("staleFrom", Timestamp.valueOf(staleFrom()))
+                    .addValue("staleTo", Timestamp.valueOf(staleTo()));
+        }
+    }
+
+    private record Finding(long personnelId, SecurityFindingType type) {
+    }
+
+    private record ChunkResult(long rows, int chunks, long raised, long resolved) {
+
+        static final ChunkResult EMPTY = new ChunkResult(0, 0, 0, 0);
+
+        ChunkResult plus(ChunkResult other) {
+            return new ChunkResult(rows + other.rows, chunks + other.chunks,
+                    raised + other.raised, resolved + other.resolved);
+        }
+    }
+
+    /**
+     * Halves the sorted id slice until it fits in one chunk, so each leaf covers a contiguous id range.
+     */
+    private class ChunkTask extends RecursiveTask<ChunkResult> {
+
+        private final String scanId;
+        private final Window window;
+        private final long[] ids;
+        private final int fromIndex;
+        private final int toIndex;
+        private final Map<String, String> mdcContext;
+
+        ChunkTask(String scanId, Window window, long[] ids, int fromIndex, int toIndex, Map<String, String> mdcContext) {
+            this.scanId = scanId;
+            this.window = window;
+            this.ids = ids;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.mdcContext = mdcContext;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            if (toIndex - fromIndex <= properties.getChunkSize()) {
+                try (MdcScope ignored = MdcScope.replacing(mdcContext)) {
+                    return scanChunk(scanId, window, ids, fromIndex, toIndex);
+                }
+            }
+            int middle = (fromIndex + toIndex) >>> 1;
+            ChunkTask left = new ChunkTask(scanId, window, ids, fromIndex, middle, mdcContext);
+            ChunkTask right = new ChunkTask(scanId, window, ids, middle, toIndex, mdcContext);
+            left.fork();
+            return right.compute().plus(left.join());
+        }
+    }
+
+}
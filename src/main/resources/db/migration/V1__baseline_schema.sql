@@ -0,0 +1,72 @@
+-- Schema as Hibernate generated it from the entities, plus the tables the JDBC repositories used to create on
+-- startup. Audit events live in per-day tables (audit_logs_pYYYYMMDD) that AuditLogPartitions creates ahead of
+-- time, together with their keyset indexes, so only their id sequence is declared here.
+
+CREATE SEQUENCE personnel_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE security_findings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE audit_logs_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE personnel (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL UNIQUE,
+    role        VARCHAR(255) NOT NULL,
+    department  VARCHAR(255) NOT NULL,
+    status      ENUM ('ACTIVE', 'INACTIVE', 'PENDING') NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    version     BIGINT
+);
+
+-- Serves the incremental security scan's watermark window
+CREATE INDEX idx_personnel_updated_at_id ON personnel (updated_at, id);
+
+CREATE TABLE security_findings (
+    id            BIGINT       NOT NULL PRIMARY KEY,
+    personnel_id  BIGINT       NOT NULL,
+    type          ENUM ('EXTERNAL_EMAIL', 'INACTIVE_ACCOUNT', 'STALE_PENDING') NOT NULL,
+    detail        VARCHAR(255),
+    detected_at   TIMESTAMP(6) NOT NULL,
+    scan_id       VARCHAR(36)  NOT NULL,
+    CONSTRAINT uk_finding_personnel_type UNIQUE (personnel_id, type),
+    CONSTRAINT fk_finding_personnel FOREIGN KEY (personnel_id) REFERENCES personnel (id) ON DELETE CASCADE
+);
+
+CREATE TABLE security_scan_runs (
+    scan_id            VARCHAR(36)  NOT NULL PRIMARY KEY,
+    status             ENUM ('COMPLETED', 'FAILED', 'RUNNING') NOT NULL,
+    watermark_from     TIMESTAMP(6),
+    watermark_to       TIMESTAMP(6) NOT NULL,
+    started_at         TIMESTAMP(6) NOT NULL,
+    completed_at       TIMESTAMP(6),
+    rows_examined      BIGINT,
+    chunks             INTEGER,
+    findings_raised    BIGINT,
+    findings_resolved  BIGINT,
+    open_findings      BIGINT,
+    execution_time     BIGINT
+);
+
+CREATE INDEX idx_scan_status_watermark ON security_scan_runs (status, watermark_to);
+
+CREATE TABLE audit_rollup_hourly (
+    bucket_start        TIMESTAMP    NOT NULL,
+    action              VARCHAR(255) NOT NULL,
+    username            VARCHAR(255) NOT NULL,
+    event_count         BIGINT       NOT NULL,
+    client_error_count  BIGINT       NOT NULL,
+    server_error_count  BIGINT       NOT NULL,
+    latency_count       BIGINT       NOT NULL,
+    latency_sum_nanos   BIGINT       NOT NULL,
+    latency_min_nanos   BIGINT,
+    latency_max_nanos   BIGINT,
+    PRIMARY KEY (bucket_start, action, username)
+);
+
+CREATE INDEX idx_rollup_user_bucket ON audit_rollup_hourly (username, bucket_start);
+
+-- Journal position the committed audit rows reach; written in the same transaction as each batch
+CREATE TABLE audit_journal_checkpoint (
+    id                INTEGER NOT NULL PRIMARY KEY,
+    applied_position  BIGINT  NOT NULL
+);
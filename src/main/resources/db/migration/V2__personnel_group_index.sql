@@ -0,0 +1,3 @@
+-- findByStatus and the GROUP BY status, department, role that reconciles the /personnel/stats counters both
+-- scanned the whole table; this index serves the first by its prefix and the second without touching rows.
+CREATE INDEX idx_personnel_status_department_role ON personnel (status, department, role);
@@ -0,0 +1,3 @@
+-- The security scan revisits PENDING rows whose created_at crossed pending-review-after since the previous run,
+-- even when they were not updated; this index turns that into a range scan over the PENDING rows alone.
+CREATE INDEX idx_personnel_status_created_at_id ON personnel (status, created_at, id);